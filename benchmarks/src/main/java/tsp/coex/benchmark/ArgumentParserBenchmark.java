@@ -0,0 +1,108 @@
+package tsp.coex.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+import tsp.coex.command.argument.parser.DurationParser;
+import tsp.coex.command.argument.parser.NumbersParser;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the built-in parsers registered in {@link ArgumentParsers}, for valid and invalid input.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArgumentParserBenchmark {
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private ArgumentParser<Boolean> booleanParser;
+    private ArgumentParser<UUID> uuidParser;
+    private ArgumentParser<Component> componentParser;
+
+    private String integer;
+    private String small;
+    private String decimal;
+    private String duration;
+    private String bool;
+    private String uuid;
+    private String component;
+
+    @Setup
+    public void setup() {
+        booleanParser = ArgumentParsers.INSTANCE.find(Boolean.class).orElseThrow();
+        uuidParser = ArgumentParsers.INSTANCE.find(UUID.class).orElseThrow();
+        componentParser = ArgumentParsers.INSTANCE.find(Component.class).orElseThrow();
+
+        integer = valid ? "123456" : "12a456";
+        small = valid ? "64" : "6x";
+        decimal = valid ? "1234.5678" : "1234,56x";
+        duration = valid ? "1d2h30m" : "soon";
+        bool = valid ? "yes" : "maybe";
+        uuid = valid ? "069a79f4-44e9-4726-a5be-fca90e38aaf5" : "069a79f4-44e9-4726-a5be";
+        component = valid ? "<red>Hello <bold>world</bold>!" : "<red>Hello <bold>world!";
+    }
+
+    @Benchmark
+    public Optional<Number> number() {
+        return NumbersParser.parse(decimal);
+    }
+
+    @Benchmark
+    public Optional<Integer> integer() {
+        return NumbersParser.parseInteger(integer);
+    }
+
+    @Benchmark
+    public Optional<Long> longs() {
+        return NumbersParser.parseLong(integer);
+    }
+
+    @Benchmark
+    public Optional<Float> floats() {
+        return NumbersParser.parseFloat(decimal);
+    }
+
+    @Benchmark
+    public Optional<Double> doubles() {
+        return NumbersParser.parseDouble(decimal);
+    }
+
+    @Benchmark
+    public Optional<Byte> bytes() {
+        return NumbersParser.parseByte(small);
+    }
+
+    @Benchmark
+    public Optional<Duration> duration() {
+        return DurationParser.parseSafely(duration);
+    }
+
+    @Benchmark
+    public Optional<Boolean> bool() {
+        return booleanParser.parse(bool);
+    }
+
+    @Benchmark
+    public Optional<UUID> uuid() {
+        return uuidParser.parse(uuid);
+    }
+
+    @Benchmark
+    public Optional<Component> component() {
+        return componentParser.parse(component);
+    }
+
+}
@@ -0,0 +1,60 @@
+package tsp.coex.benchmark;
+
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tsp.coex.command.context.CommandContextImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link CommandContextImpl} construction and first access with varying argument and option counts.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CommandContextBenchmark {
+
+    @Param({"0", "3", "16"})
+    private int arguments;
+
+    @Param({"0", "2"})
+    private int options;
+
+    private CommandSender sender;
+    private String[] args;
+
+    @Setup
+    public void setup() {
+        sender = StubSender.create(true);
+        args = new String[arguments + options];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = i < arguments ? "arg" + i : "-flag" + i;
+        }
+    }
+
+    @Benchmark
+    public CommandContextImpl<CommandSender> construct() {
+        return new CommandContextImpl<>(sender, args, null);
+    }
+
+    @Benchmark
+    public void constructAndRead(Blackhole bh) {
+        CommandContextImpl<CommandSender> ctx = new CommandContextImpl<>(sender, args, null);
+        bh.consume(ctx.rawArg(0));
+        bh.consume(ctx.rawArgs().size());
+    }
+
+    @Benchmark
+    public void constructAndReadOptions(Blackhole bh) {
+        CommandContextImpl<CommandSender> ctx = new CommandContextImpl<>(sender, args, null);
+        bh.consume(ctx.options());
+        bh.consume(ctx.rawArg(0));
+    }
+
+}
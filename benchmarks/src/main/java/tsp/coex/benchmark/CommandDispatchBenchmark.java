@@ -0,0 +1,89 @@
+package tsp.coex.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tsp.coex.command.AbstractCommand;
+import tsp.coex.command.context.CommandContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AbstractCommand#onCommand} with and without usage and permission checks.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CommandDispatchBenchmark {
+
+    private CommandSender sender;
+    private BenchCommand plain;
+    private BenchCommand usage;
+    private BenchCommand permission;
+    private BenchCommand both;
+    private String[] args;
+    private String[] missingArgs;
+
+    @Setup
+    public void setup() {
+        sender = StubSender.create(true);
+        plain = new BenchCommand(null, null);
+        usage = new BenchCommand("<player> <amount:int> [reason]", null);
+        permission = new BenchCommand(null, "coex.bench");
+        both = new BenchCommand("<player> <amount:int> [reason]", "coex.bench");
+        args = new String[]{"Notch", "64", "because"};
+        missingArgs = new String[]{"Notch"};
+    }
+
+    @Benchmark
+    public boolean plain(Blackhole bh) {
+        plain.blackhole = bh;
+        return plain.onCommand(sender, null, "bench", args);
+    }
+
+    @Benchmark
+    public boolean usage(Blackhole bh) {
+        usage.blackhole = bh;
+        return usage.onCommand(sender, null, "bench", args);
+    }
+
+    @Benchmark
+    public boolean usageMismatch(Blackhole bh) {
+        usage.blackhole = bh;
+        return usage.onCommand(sender, null, "bench", missingArgs);
+    }
+
+    @Benchmark
+    public boolean permission(Blackhole bh) {
+        permission.blackhole = bh;
+        return permission.onCommand(sender, null, "bench", args);
+    }
+
+    @Benchmark
+    public boolean usageAndPermission(Blackhole bh) {
+        both.blackhole = bh;
+        return both.onCommand(sender, null, "bench", args);
+    }
+
+    private static final class BenchCommand extends AbstractCommand {
+
+        private Blackhole blackhole;
+
+        private BenchCommand(String usage, String permission) {
+            super("bench", usage, Component.text("Usage: {usage}"), permission);
+        }
+
+        @Override
+        public void handler(CommandContext<CommandSender> ctx) {
+            blackhole.consume(ctx);
+        }
+
+    }
+
+}
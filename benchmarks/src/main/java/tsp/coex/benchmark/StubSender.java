@@ -0,0 +1,54 @@
+package tsp.coex.benchmark;
+
+import org.bukkit.command.CommandSender;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Lightweight {@link CommandSender} stubs, so benchmarks run without a server.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class StubSender {
+
+    private StubSender() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Create a sender that ignores messages.
+     *
+     * @param permitted The result of every {@link CommandSender#hasPermission(String)} call
+     * @return The sender
+     */
+    public static CommandSender create(boolean permitted) {
+        return (CommandSender) Proxy.newProxyInstance(StubSender.class.getClassLoader(), new Class<?>[]{CommandSender.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hasPermission":
+                    return permitted;
+                case "getName":
+                    return "Stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "StubSender";
+                default:
+                    break;
+            }
+
+            Class<?> type = method.getReturnType();
+            if (type == boolean.class) return false;
+            if (type == int.class) return 0;
+            if (type == long.class) return 0L;
+            if (type == short.class) return (short) 0;
+            if (type == byte.class) return (byte) 0;
+            if (type == double.class) return 0.0;
+            if (type == float.class) return 0f;
+            if (type == char.class) return '\0';
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,43 @@
+package tsp.coex;
+
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.result.FailureReason;
+
+import java.util.Optional;
+
+/**
+ * Thrown to stop a command handler.
+ * The exception is stackless, so throwing it costs no stack walk; the context throws a single {@link #INSTANCE shared instance}
+ * and records the {@link FailureReason} on itself instead.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CommandInterruptException extends RuntimeException {
+
+    /**
+     * Shared instance thrown by the context, see {@link tsp.coex.command.context.CommandContext#fail(FailureReason)}.
+     */
+    public static final CommandInterruptException INSTANCE = new CommandInterruptException();
+
+    @Nullable
+    private final FailureReason reason;
+
+    public CommandInterruptException() {
+        this(null);
+    }
+
+    public CommandInterruptException(@Nullable FailureReason reason) {
+        super("Command failed an assertion!", null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * The reason carried by this exception. Empty for the shared instance, whose reason is recorded by the context.
+     *
+     * @return The reason, if any
+     */
+    public Optional<FailureReason> reason() {
+        return Optional.ofNullable(reason);
+    }
+
+}
@@ -0,0 +1,422 @@
+package tsp.coex.command;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+import tsp.coex.command.argument.suggestion.SuggestionIndex;
+import tsp.coex.command.completion.CompletionEngine;
+import tsp.coex.command.completion.Completions;
+import tsp.coex.command.context.CommandContext;
+import tsp.coex.command.context.CommandContextImpl;
+import tsp.coex.command.context.TokenizedInput;
+import tsp.coex.command.cooldown.Cooldown;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.message.MessageTemplate;
+import tsp.coex.command.permission.PermissionCache;
+import tsp.coex.command.result.CommandResult;
+import tsp.coex.command.result.FailureReason;
+import tsp.coex.command.scheduler.CommandScheduler;
+import tsp.coex.command.usage.UsageSchema;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.MetricsSink;
+import tsp.coex.metrics.Outcome;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * An abstract implementation of a {@link Command}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public abstract class AbstractCommand implements Command {
+
+    @NotNull
+    private final String name;
+    @Nullable
+    private final String usage;
+    @Nullable
+    private final UsageSchema usageSchema;
+    @Nullable
+    private final Component usageMessage;
+    @Nullable
+    private final MessageTemplate usageTemplate;
+    private volatile Map<String, Component> usageMessages = Map.of(); // Rendered per label on registration
+    @Nullable
+    private final String permission;
+    @Nullable
+    private final Component permissionMessage;
+    @Nullable
+    private volatile Executor executor;
+    @Nullable
+    private volatile Plugin plugin;
+    @Nullable
+    private volatile CompletionEngine completionEngine;
+    @Nullable
+    private volatile Cooldown cooldown;
+    @Nullable
+    private volatile FlagSet flags;
+    @Nullable
+    private volatile CommandScheduler scheduler;
+
+    public AbstractCommand(@NotNull String name, @Nullable String usage, @Nullable Component usageMessage, @Nullable String permission, @Nullable Component permissionMessage) {
+        this.name = name;
+        this.usage = usage;
+        this.usageSchema = usage != null ? UsageSchema.compile(usage) : null;
+        this.usageMessage = usageMessage;
+        this.usageTemplate = usageMessage != null ? MessageTemplate.compile(usageMessage, "usage") : null;
+        this.permission = permission;
+        this.permissionMessage = permissionMessage;
+    }
+
+    public AbstractCommand(@NotNull String name, @Nullable String usage, @Nullable Component usageMessage, @Nullable String permission) {
+        this(name, usage, usageMessage, permission, null);
+    }
+
+    public AbstractCommand(@NotNull String name, @Nullable String usage, @Nullable Component usageMessage) {
+        this(name, usage, usageMessage, null, null);
+    }
+
+    public AbstractCommand(@NotNull String name, @Nullable String usage) {
+        this(name, usage, null, null, null);
+    }
+
+    public AbstractCommand(@NotNull String name) {
+        this(name, null);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public Optional<String> getUsage() {
+        return Optional.ofNullable(usage);
+    }
+
+    @NotNull
+    @Override
+    public Optional<UsageSchema> getUsageSchema() {
+        return Optional.ofNullable(usageSchema);
+    }
+
+    @NotNull
+    @Override
+    public Optional<Component> getUsageMessage() {
+        return Optional.ofNullable(usageMessage);
+    }
+
+    @NotNull
+    @Override
+    public Optional<String> getPermission() {
+        return Optional.ofNullable(permission);
+    }
+
+    @NotNull
+    @Override
+    public Optional<Component> getPermissionMessage() {
+        return Optional.ofNullable(permissionMessage);
+    }
+
+    @NotNull
+    @Override
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+    /**
+     * Set the executor the handler runs on, e.g. a virtual thread executor.
+     * Permission, usage and {@link #prepare(CommandContext)} still run on the calling thread.
+     *
+     * @param executor The executor, or {@code null} to run synchronously
+     * @return This command
+     */
+    public AbstractCommand setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Optional<Cooldown> getCooldown() {
+        return Optional.ofNullable(cooldown);
+    }
+
+    /**
+     * Set the cooldown applied per sender.
+     * Only senders with a unique id (players and other entities) are limited.
+     *
+     * @param cooldown The cooldown, or {@code null} to remove it
+     * @return This command
+     */
+    public AbstractCommand setCooldown(@Nullable Cooldown cooldown) {
+        this.cooldown = cooldown;
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Optional<FlagSet> getFlags() {
+        return Optional.ofNullable(flags);
+    }
+
+    /**
+     * Set the flags this command declares.
+     *
+     * @param flags The flags, or {@code null} to only accept undeclared options
+     * @return This command
+     */
+    public AbstractCommand setFlags(@Nullable FlagSet flags) {
+        this.flags = flags;
+        return this;
+    }
+
+    /**
+     * Set the scheduler that queues executions of this command, bounding the time spent on commands per tick.
+     * Only applies to synchronous commands, handlers with an {@link #setExecutor(Executor) executor} already run off the main thread.
+     *
+     * @param scheduler The scheduler, or {@code null} to execute immediately
+     * @return This command
+     */
+    public AbstractCommand setScheduler(@Nullable CommandScheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Optional<Plugin> getPlugin() {
+        return Optional.ofNullable(plugin);
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull org.bukkit.command.Command command, @NotNull String label, @NotNull String[] args) {
+        MetricsSink metrics = CommandMetrics.sink();
+        long start = CommandMetrics.start(metrics);
+
+        // Validate the user has permission
+        if (permission != null) {
+            if (!PermissionCache.hasPermission(sender, permission)) {
+                if (permissionMessage != null) sender.sendMessage(permissionMessage);
+                if (start != 0) metrics.command(name, Outcome.PERMISSION_DENIED, CommandMetrics.elapsed(start));
+                return true;
+            }
+        }
+
+        // Validate usage format, counting quoted and greedy arguments as one
+        TokenizedInput tokens = usageSchema != null && usageSchema.isTokenized() ? TokenizedInput.tokenize(args, usageSchema, CommandContextImpl.OPTION_PREFIX, flags) : null;
+        if (usageSchema != null && !usageSchema.matches(tokens != null ? tokens.size() + tokens.options() : args.length)) {
+            if (usageTemplate != null) sender.sendMessage(usageMessage(usageTemplate, usageSchema, label));
+            if (start != 0) metrics.command(name, Outcome.USAGE_MISMATCH, CommandMetrics.elapsed(start));
+            return true;
+        }
+
+        // Validate cooldown, before any context is created
+        Cooldown cooldown = this.cooldown;
+        if (cooldown != null && sender instanceof Entity entity && !cooldown.canBypass(sender)) {
+            long remaining = cooldown.tryAcquire(entity.getUniqueId());
+            if (remaining > 0) {
+                cooldown.getMessage(remaining).ifPresent(sender::sendMessage);
+                if (start != 0) metrics.command(name, Outcome.RATE_LIMITED, CommandMetrics.elapsed(start));
+                return true;
+            }
+        }
+
+        execute(sender, label, args, tokens);
+        return true;
+    }
+
+    private Component usageMessage(MessageTemplate template, UsageSchema schema, String label) {
+        Component message = usageMessages.get(label);
+        return message != null ? message : template.render(schema.usageLine(label));
+    }
+
+    /**
+     * Execute this command after permission and usage have been validated.
+     * Runs {@link #prepare(CommandContext)} on the calling thread, then the handler either directly or on the {@link #getExecutor() executor}.
+     * If a {@link #setScheduler(CommandScheduler) scheduler} is set, synchronous executions are queued and run by the scheduler instead.
+     *
+     * @param sender The sender
+     * @param args The arguments
+     * @return Future completed once the handler has finished
+     */
+    @NotNull
+    public CompletableFuture<Void> execute(@NotNull CommandSender sender, @NotNull String[] args) {
+        return execute(sender, name, args, null);
+    }
+
+    private CompletableFuture<Void> execute(CommandSender sender, String label, String[] args, @Nullable TokenizedInput tokens) {
+        CommandScheduler scheduler = this.scheduler;
+        if (scheduler == null || executor != null) {
+            return run(sender, label, args, tokens);
+        }
+
+        try {
+            return scheduler.submit(this, sender, () -> run(sender, label, args, tokens));
+        } catch (RejectedExecutionException ex) {
+            sender.sendMessage(scheduler.getBusyMessage());
+            MetricsSink metrics = CommandMetrics.sink();
+            if (metrics != MetricsSink.NOOP) metrics.command(name, Outcome.REJECTED, 0);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private CompletableFuture<Void> run(CommandSender sender, String label, String[] args, @Nullable TokenizedInput tokens) {
+        MetricsSink metrics = CommandMetrics.sink();
+        long start = CommandMetrics.start(metrics);
+        CommandContextImpl<CommandSender> ctx = new CommandContextImpl<>(sender, args, this, tokens).label(label);
+        Executor executor = this.executor;
+
+        // Fire command handler, failures are reported through onAssertionFailure
+        if (executor == null) {
+            complete(ctx, capture(ctx, () -> {
+                prepare(ctx);
+                return invoke(ctx);
+            }, metrics, start), metrics, start);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CommandResult prepared = capture(ctx, () -> {
+            prepare(ctx);
+            return CommandResult.success();
+        }, metrics, start);
+        if (!prepared.isSuccess()) {
+            complete(ctx, prepared, metrics, start);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> complete(ctx, capture(ctx, () -> invoke(ctx), metrics, start), metrics, start), executor).whenComplete((result, ex) -> {
+            Plugin plugin = this.plugin;
+            if (ex != null && plugin != null) {
+                plugin.getLogger().log(Level.SEVERE, "Unhandled exception executing command " + name, ex instanceof CompletionException ? ex.getCause() : ex);
+            }
+        });
+    }
+
+    /**
+     * Set the engine used to cache and narrow tab completions.
+     *
+     * @param completionEngine The engine, or {@code null} to call {@link #onTab(CommandContext)} on every completion
+     * @return This command
+     * @see tsp.coex.command.completion.AsyncCompletionListener
+     */
+    public AbstractCommand setCompletionEngine(@Nullable CompletionEngine completionEngine) {
+        this.completionEngine = completionEngine;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull org.bukkit.command.Command command, @NotNull String label, @NotNull String[] args) {
+        return Completions.complete(sender, this, args, completionEngine);
+    }
+
+    @Override
+    public List<String> onTab(CommandContext<CommandSender> ctx) {
+        if (usageSchema == null) {
+            return null;
+        }
+
+        // Nothing left to complete once every slot has been filled
+        List<String> args = ctx.rawArgs();
+        UsageSchema.Slot slot = usageSchema.slot(args.size() - 1);
+        if (slot == null) {
+            return List.of();
+        }
+
+        Class<?> type = slot.type().orElse(null);
+        if (type == null) {
+            return null;
+        }
+
+        List<String> suggestions = ArgumentParsers.INSTANCE.find(type)
+                .map(parser -> parser.suggest(ctx.sender(), args.get(args.size() - 1)))
+                .orElse(List.of());
+        if (!suggestions.isEmpty()) {
+            // Custom parsers may suggest without a limit
+            return suggestions.size() > SuggestionIndex.SUGGESTION_LIMIT ? suggestions.subList(0, SuggestionIndex.SUGGESTION_LIMIT) : suggestions;
+        }
+
+        // Fall back to the default (player names) for player slots
+        if (type == Player.class || type == OfflinePlayer.class) {
+            return null;
+        }
+
+        return slot.hint();
+    }
+
+    // Like CommandResult#capture, but records unexpected exceptions as failed before rethrowing them
+    private CommandResult capture(CommandContext<CommandSender> ctx, Supplier<CommandResult> step, MetricsSink metrics, long start) {
+        try {
+            return CommandResult.capture(ctx, step);
+        } catch (RuntimeException ex) {
+            if (start != 0) metrics.command(name, Outcome.FAILED, CommandMetrics.elapsed(start));
+            throw ex;
+        }
+    }
+
+    private void complete(CommandContext<CommandSender> ctx, CommandResult result, MetricsSink metrics, long start) {
+        if (result instanceof CommandResult.Failure failure) {
+            if (start != 0) metrics.command(name, Outcome.INTERRUPTED, CommandMetrics.elapsed(start));
+            onAssertionFailure(ctx, failure.reason());
+        } else {
+            if (start != 0) metrics.command(name, Outcome.SUCCESS, CommandMetrics.elapsed(start));
+        }
+    }
+
+    /**
+     * Called when the command failed, either by an assertion or by returning a {@link CommandResult.Failure failure}.
+     * Note that this runs on the executor thread for asynchronous commands.
+     *
+     * @param ctx The context of the failed execution
+     * @param reason Why the command failed
+     */
+    public void onAssertionFailure(@NotNull CommandContext<CommandSender> ctx, @NotNull FailureReason reason) {}
+
+    @Override
+    public void register(JavaPlugin plugin) {
+        PluginCommand pluginCommand = plugin.getCommand(getName());
+        if (pluginCommand == null) {
+            throw new NoSuchElementException("Missing plugin.yml command: " + getName());
+        }
+
+        pluginCommand.setExecutor(this);
+        this.plugin = plugin;
+
+        // Labels are fixed once registered, so the usage message is rendered once per label
+        if (usageTemplate != null && usageSchema != null) {
+            String prefix = plugin.getName().toLowerCase(Locale.ROOT) + ":";
+            Map<String, Component> messages = new HashMap<>();
+            List<String> labels = new ArrayList<>(pluginCommand.getAliases());
+            labels.add(pluginCommand.getName());
+            for (String label : labels) {
+                messages.put(label, usageTemplate.render(usageSchema.usageLine(label)));
+                messages.put(prefix + label, usageTemplate.render(usageSchema.usageLine(prefix + label)));
+            }
+            usageMessages = Map.copyOf(messages);
+        }
+    }
+
+}
\ No newline at end of file
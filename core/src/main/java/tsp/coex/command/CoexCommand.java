@@ -0,0 +1,93 @@
+package tsp.coex.command;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import tsp.coex.command.context.CommandContext;
+import tsp.coex.command.tree.CommandNode;
+import tsp.coex.command.tree.LiteralNode;
+import tsp.coex.command.tree.NodeArguments;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.InMemoryMetricsSink;
+import tsp.coex.metrics.LatencyHistogram;
+import tsp.coex.metrics.MetricsSink;
+import tsp.coex.metrics.Outcome;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * The built-in {@code /coex} command.
+ * Requires a {@code coex} entry in the plugin.yml of the registering plugin.
+ *
+ * <ul>
+ *     <li>{@code /coex stats} - Show command metrics, see {@link CommandMetrics}</li>
+ *     <li>{@code /coex stats reset} - Clear command metrics</li>
+ * </ul>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CoexCommand extends TreeCommand {
+
+    public CoexCommand() {
+        super(root());
+    }
+
+    private static LiteralNode root() {
+        LiteralNode root = CommandNode.literal("coex");
+        root.then(CommandNode.literal("stats")
+                .requires("coex.stats", Component.text("You do not have permission to view command statistics!").color(NamedTextColor.RED))
+                .executes(CoexCommand::stats)
+                .then(CommandNode.literal("reset").executes(CoexCommand::reset)));
+        return root;
+    }
+
+    private static void stats(CommandContext<CommandSender> ctx, NodeArguments arguments) {
+        MetricsSink sink = CommandMetrics.sink();
+        if (!(sink instanceof InMemoryMetricsSink metrics)) {
+            ctx.reply(Component.text("Command metrics are " + (sink == MetricsSink.NOOP ? "disabled." : "recorded by " + sink.getClass().getName() + ".")).color(NamedTextColor.RED));
+            return;
+        }
+
+        ctx.reply(Component.text("Commands (latency in µs):").color(NamedTextColor.GOLD));
+        metrics.getCommands().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, InMemoryMetricsSink.CommandStats> entry) -> entry.getValue().invocations()).reversed())
+                .forEach(entry -> {
+                    InMemoryMetricsSink.CommandStats stats = entry.getValue();
+                    ctx.reply(Component.text("/" + entry.getKey() + " ").color(NamedTextColor.YELLOW)
+                            .append(Component.text(stats.invocations() + " calls, " + stats.failures() + " failed"
+                                    + " (permission " + stats.count(Outcome.PERMISSION_DENIED)
+                                    + ", usage " + stats.count(Outcome.USAGE_MISMATCH)
+                                    + ", cooldown " + stats.count(Outcome.RATE_LIMITED)
+                                    + ", busy " + stats.count(Outcome.REJECTED)
+                                    + ", interrupted " + stats.count(Outcome.INTERRUPTED)
+                                    + ", error " + stats.count(Outcome.FAILED) + ") "
+                                    + latency(stats.latency())
+                                    + (stats.completions().count() > 0 ? " | tab " + latency(stats.completions()) : "")).color(NamedTextColor.GRAY)));
+                });
+
+        if (!metrics.getParsers().isEmpty()) {
+            ctx.reply(Component.text("Parsers (latency in µs):").color(NamedTextColor.GOLD));
+            metrics.getParsers().forEach((type, histogram) -> ctx.reply(Component.text(type.getSimpleName() + " ").color(NamedTextColor.YELLOW)
+                    .append(Component.text(histogram.count() + " parses " + latency(histogram)).color(NamedTextColor.GRAY))));
+        }
+
+        if (!metrics.getCounters().isEmpty()) {
+            ctx.reply(Component.text("Counters:").color(NamedTextColor.GOLD));
+            metrics.getCounters().forEach((name, counter) -> ctx.reply(Component.text(name + " ").color(NamedTextColor.YELLOW)
+                    .append(Component.text(counter.sum()).color(NamedTextColor.GRAY))));
+        }
+    }
+
+    private static void reset(CommandContext<CommandSender> ctx, NodeArguments arguments) {
+        if (CommandMetrics.sink() instanceof InMemoryMetricsSink metrics) {
+            metrics.reset();
+        }
+        ctx.reply(Component.text("Command metrics have been reset.").color(NamedTextColor.GREEN));
+    }
+
+    private static String latency(LatencyHistogram histogram) {
+        return String.format("p50 %.1f p99 %.1f max %.1f", histogram.percentile(50) / 1000D, histogram.percentile(99) / 1000D, histogram.max() / 1000D);
+    }
+
+}
@@ -0,0 +1,151 @@
+package tsp.coex.command;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import tsp.coex.command.context.CommandContext;
+import tsp.coex.command.cooldown.Cooldown;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.result.CommandResult;
+import tsp.coex.command.usage.UsageSchema;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Represents a command that can be executed.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public interface Command extends CommandExecutor, TabCompleter {
+
+    /**
+     * The name.
+     *
+     * @return Name
+     */
+    String getName();
+
+    /**
+     * The usage format.
+     *
+     * @return Usage
+     */
+    Optional<String> getUsage();
+
+    /**
+     * The compiled usage format.
+     *
+     * @return Usage schema
+     */
+    default Optional<UsageSchema> getUsageSchema() {
+        return getUsage().map(UsageSchema::compile);
+    }
+
+    /**
+     * Message sent if the arguments do not confront to the usage format.
+     *
+     * @return Usage message
+     */
+    Optional<Component> getUsageMessage();
+
+    /**
+     * The permission required to execute this command.
+     *
+     * @return The permission
+     */
+    Optional<String> getPermission();
+
+    /**
+     * The message sent if the sender does not have permission.
+     *
+     * @return The permission message
+     */
+    Optional<Component> getPermissionMessage();
+
+    /**
+     * The flags this command declares.
+     *
+     * @return The flags, if any
+     */
+    default Optional<FlagSet> getFlags() {
+        return Optional.empty();
+    }
+
+    /**
+     * The cooldown applied per sender.
+     *
+     * @return The cooldown, if any
+     */
+    default Optional<Cooldown> getCooldown() {
+        return Optional.empty();
+    }
+
+    /**
+     * The executor the {@link #handler(CommandContext) handler} runs on.
+     * If empty, the handler runs synchronously on the calling (main) thread.
+     *
+     * @return The executor, if executing asynchronously
+     */
+    default Optional<Executor> getExecutor() {
+        return Optional.empty();
+    }
+
+    /**
+     * The plugin this command is registered to.
+     *
+     * @return The plugin, if registered
+     */
+    default Optional<Plugin> getPlugin() {
+        return Optional.empty();
+    }
+
+    /**
+     * Runs on the calling thread before the {@link #handler(CommandContext) handler}.
+     * When executing asynchronously, parse and validate arguments here; parsed values are cached by the context,
+     * so the handler can read them again without re-parsing off the main thread.
+     *
+     * @param ctx The {@link CommandContext}
+     */
+    default void prepare(CommandContext<CommandSender> ctx) {}
+
+    /**
+     * The handler.
+     *
+     * @param ctx The {@link CommandContext}
+     */
+    void handler(CommandContext<CommandSender> ctx);
+
+    /**
+     * Run the {@link #handler(CommandContext) handler} and report its result.
+     * Override to return a {@link CommandResult#failure(tsp.coex.command.result.FailureReason) failure} instead of throwing,
+     * the message of a returned failure is sent to the sender.
+     *
+     * @param ctx The {@link CommandContext}
+     * @return The result
+     */
+    default CommandResult invoke(CommandContext<CommandSender> ctx) {
+        handler(ctx);
+        return CommandResult.success();
+    }
+
+    /**
+     * The tab completion handler.
+     *
+     * @param ctx The {@link CommandContext}
+     * @return List of completions
+     */
+    List<String> onTab(CommandContext<CommandSender> ctx);
+
+    /**
+     * Register this command.
+     *
+     * @param plugin Plugin instance
+     */
+    void register(JavaPlugin plugin);
+
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package tsp.coex.command;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.context.CommandContext;
+import tsp.coex.command.tree.CommandDispatcher;
+import tsp.coex.command.tree.LiteralNode;
+
+import java.util.List;
+
+/**
+ * A {@link Command} routed through a tree of nodes instead of a single handler.
+ *
+ * <pre>{@code
+ * LiteralNode root = CommandNode.literal("eco");
+ * root.then(CommandNode.literal("give")
+ *         .then(CommandNode.argument("target", Player.class)
+ *                 .then(CommandNode.argument("amount", Double.class)
+ *                         .executes((ctx, args) -> ...))));
+ * new TreeCommand(root).register(plugin);
+ * }</pre>
+ *
+ * <p>
+ * The usage message, if set, is also sent with the usage of the last matched node, e.g. {@code /eco give <target>},
+ * when an argument does not match or the reached node has no executor.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class TreeCommand extends AbstractCommand {
+
+    private final CommandDispatcher dispatcher;
+
+    public TreeCommand(@NotNull LiteralNode root, @Nullable String usage, @Nullable Component usageMessage, @Nullable String permission, @Nullable Component permissionMessage) {
+        super(root.getName(), usage, usageMessage, permission, permissionMessage);
+        this.dispatcher = new CommandDispatcher(root).setUsageMessage(usageMessage);
+    }
+
+    public TreeCommand(@NotNull LiteralNode root, @Nullable String usage, @Nullable Component usageMessage) {
+        this(root, usage, usageMessage, null, null);
+    }
+
+    public TreeCommand(@NotNull LiteralNode root) {
+        this(root, null, null);
+    }
+
+    @NotNull
+    public CommandDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Set the message sent when an argument matches no subcommand or argument.
+     *
+     * @param unknownArgumentMessage The message
+     * @return This command
+     * @see CommandDispatcher#setUnknownArgumentMessage(Component)
+     */
+    public TreeCommand setUnknownArgumentMessage(@Nullable Component unknownArgumentMessage) {
+        dispatcher.setUnknownArgumentMessage(unknownArgumentMessage);
+        return this;
+    }
+
+    @Override
+    public void handler(CommandContext<CommandSender> ctx) {
+        dispatcher.dispatch(ctx);
+    }
+
+    @Override
+    public List<String> onTab(CommandContext<CommandSender> ctx) {
+        return dispatcher.suggest(ctx);
+    }
+
+}
@@ -0,0 +1,95 @@
+package tsp.coex.command.annotation;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.AbstractCommand;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.context.CommandContext;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+/**
+ * A command bound to a {@link CommandMethod} method.
+ * Parameter bindings and parsers are resolved once when created, invoking the handler is a direct {@link MethodHandle} call.
+ *
+ * @author TheSilentPro (Silent)
+ * @see AnnotatedCommands
+ */
+public class AnnotatedCommand extends AbstractCommand {
+
+    static final int CONTEXT = -1;
+    static final int SENDER = -2;
+
+    private final MethodHandle invoker;
+    private final int[] bindings; // Argument index per parameter, or CONTEXT/SENDER
+    private final Class<?>[] types; // Argument type per parameter
+    private final ArgumentParser<?>[] parsers;
+    private final Class<?> senderType;
+
+    AnnotatedCommand(@NotNull String name, @Nullable String usage, @Nullable Component usageMessage, @Nullable String permission, @Nullable Component permissionMessage,
+                     @NotNull MethodHandle invoker, int[] bindings, Class<?>[] types, ArgumentParser<?>[] parsers, @NotNull Class<?> senderType) {
+        super(name, usage, usageMessage, permission, permissionMessage);
+        this.invoker = invoker;
+        this.bindings = bindings;
+        this.types = types;
+        this.parsers = parsers;
+        this.senderType = senderType;
+    }
+
+    @Override
+    public void handler(CommandContext<CommandSender> ctx) {
+        Object[] values = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            int binding = bindings[i];
+            if (binding == CONTEXT) {
+                values[i] = ctx;
+            } else if (binding == SENDER) {
+                ctx.assertion(senderType.isInstance(ctx.sender()), getPermissionMessage().orElse(null));
+                values[i] = ctx.sender();
+            } else {
+                values[i] = parseOrFail(ctx, binding, types[i]);
+            }
+        }
+
+        try {
+            invoker.invokeExact(values);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to execute command " + getName(), ex);
+        }
+    }
+
+    @Override
+    public List<String> onTab(CommandContext<CommandSender> ctx) {
+        // Suggest from the parser bound to the argument being completed
+        int index = ctx.rawArgs().size() - 1;
+        for (int i = 0; i < bindings.length; i++) {
+            if (bindings[i] == index) {
+                List<String> suggestions = parsers[i].suggest(ctx.sender(), ctx.rawArgs().get(index));
+                return suggestions.isEmpty() ? super.onTab(ctx) : suggestions;
+            }
+        }
+        return super.onTab(ctx);
+    }
+
+    /**
+     * Parse a positional argument through the context, so the result is cached per argument, otherwise fail the command.
+     * No message is sent, the {@link tsp.coex.command.result.FailureReason failure reason} is passed to {@link #onAssertionFailure}.
+     * Used by commands generated at compile time as well.
+     *
+     * @param ctx The context
+     * @param index The position of the argument
+     * @param type The type of argument
+     * @return The parsed argument
+     * @param <T> The type of argument
+     */
+    @NotNull
+    public static <T> T parseOrFail(@NotNull CommandContext<?> ctx, int index, @NotNull Class<T> type) {
+        return ctx.validateArgument(index, type);
+    }
+
+}
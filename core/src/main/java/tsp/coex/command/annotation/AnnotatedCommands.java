@@ -0,0 +1,126 @@
+package tsp.coex.command.annotation;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+import tsp.coex.command.context.CommandContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * Creates {@link AnnotatedCommand commands} from {@link CommandMethod} methods.
+ * All reflection happens here, once, the created commands do not use reflection or registry lookups when executed.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class AnnotatedCommands {
+
+    private AnnotatedCommands() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Create and register the commands of every {@link CommandMethod} method of an object.
+     *
+     * @param plugin Plugin instance
+     * @param holder The object declaring the methods
+     * @return The registered commands
+     */
+    @NotNull
+    public static List<AnnotatedCommand> register(@NotNull JavaPlugin plugin, @NotNull Object holder) {
+        List<AnnotatedCommand> commands = create(holder);
+        for (AnnotatedCommand command : commands) {
+            command.register(plugin);
+        }
+        return commands;
+    }
+
+    /**
+     * Create the commands of every {@link CommandMethod} method of an object.
+     * Static methods are bound without the object.
+     *
+     * @param holder The object declaring the methods
+     * @return The commands
+     * @throws IllegalArgumentException If a method can not be bound
+     */
+    @NotNull
+    public static List<AnnotatedCommand> create(@NotNull Object holder) throws IllegalArgumentException {
+        List<AnnotatedCommand> commands = new ArrayList<>();
+        for (Method method : holder.getClass().getDeclaredMethods()) {
+            CommandMethod annotation = method.getAnnotation(CommandMethod.class);
+            if (annotation != null) {
+                commands.add(create(holder, method, annotation));
+            }
+        }
+        return commands;
+    }
+
+    private static AnnotatedCommand create(Object holder, Method method, CommandMethod annotation) {
+        Parameter[] parameters = method.getParameters();
+        int[] bindings = new int[parameters.length];
+        Class<?>[] types = new Class<?>[parameters.length];
+        ArgumentParser<?>[] parsers = new ArgumentParser<?>[parameters.length];
+        Class<?> senderType = CommandSender.class;
+        StringJoiner usage = new StringJoiner(" ");
+
+        int index = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Class<?> type = parameter.getType();
+            if (CommandContext.class.isAssignableFrom(type)) {
+                bindings[i] = AnnotatedCommand.CONTEXT;
+            } else if (parameter.isAnnotationPresent(Sender.class)) {
+                if (!CommandSender.class.isAssignableFrom(type)) {
+                    throw new IllegalArgumentException("@Sender parameter must be a CommandSender: " + method);
+                }
+                bindings[i] = AnnotatedCommand.SENDER;
+                senderType = type;
+            } else {
+                bindings[i] = index++;
+                types[i] = type;
+                parsers[i] = ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type + " in " + method));
+                usage.add("<" + (parameter.isNamePresent() ? parameter.getName() : type.getSimpleName().toLowerCase(Locale.ROOT)) + ">");
+            }
+        }
+
+        MethodHandle invoker;
+        try {
+            method.trySetAccessible();
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(holder);
+            }
+            invoker = handle.asSpreader(Object[].class, parameters.length).asType(MethodType.methodType(void.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Unable to access command method " + method, e);
+        }
+
+        return new AnnotatedCommand(
+                annotation.name(),
+                annotation.usage().isEmpty() ? (index == 0 ? null : usage.toString()) : annotation.usage(),
+                component(annotation.usageMessage()),
+                annotation.permission().isEmpty() ? null : annotation.permission(),
+                component(annotation.permissionMessage()),
+                invoker, bindings, types, parsers, senderType
+        );
+    }
+
+    private static Component component(String message) {
+        return message.isEmpty() ? null : MiniMessage.miniMessage().deserialize(message);
+    }
+
+}
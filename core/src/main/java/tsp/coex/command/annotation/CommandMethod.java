@@ -0,0 +1,64 @@
+package tsp.coex.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as a command handler.
+ *
+ * <p>
+ * Parameters are bound by type: a {@link tsp.coex.command.context.CommandContext} parameter receives the context,
+ * a parameter annotated with {@link Sender} receives the sender, every other parameter is the next positional argument
+ * and is parsed by the {@link tsp.coex.command.argument.parser.ArgumentParser} registered for its type.
+ * </p>
+ *
+ * <pre>{@code
+ * @CommandMethod(name = "pay", permission = "eco.pay")
+ * public void pay(@Sender Player sender, Player target, double amount) { ... }
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ * @see AnnotatedCommands
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CommandMethod {
+
+    /**
+     * The name, must match a plugin.yml command.
+     *
+     * @return Name
+     */
+    String name();
+
+    /**
+     * The usage format, generated from the parameters if empty.
+     *
+     * @return Usage
+     */
+    String usage() default "";
+
+    /**
+     * MiniMessage formatted message sent if the arguments do not confront to the usage format, {@code {usage}} is replaced with the usage.
+     *
+     * @return Usage message
+     */
+    String usageMessage() default "";
+
+    /**
+     * The permission required to execute this command.
+     *
+     * @return Permission
+     */
+    String permission() default "";
+
+    /**
+     * MiniMessage formatted message sent if the sender does not have permission.
+     *
+     * @return Permission message
+     */
+    String permissionMessage() default "";
+
+}
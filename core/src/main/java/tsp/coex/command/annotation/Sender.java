@@ -0,0 +1,17 @@
+package tsp.coex.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@link CommandMethod} parameter to the command sender.
+ * If the parameter is a subtype of {@link org.bukkit.command.CommandSender}, such as {@link org.bukkit.entity.Player}, other senders fail the command.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Sender {
+}
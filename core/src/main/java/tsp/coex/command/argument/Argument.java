@@ -28,6 +28,17 @@ public interface Argument {
      */
     Optional<String> value();
 
+    /**
+     * The argument as written in the input, without copying it.
+     * For quoted arguments this excludes the quotes but includes any escape characters, see {@link #value()} for the resolved value.
+     *
+     * @return The slice, empty if not present
+     */
+    @NotNull
+    default CharSequence slice() {
+        return value().orElse("");
+    }
+
     /**
      * Parse this argument using the provided {@link ArgumentParser}.
      *
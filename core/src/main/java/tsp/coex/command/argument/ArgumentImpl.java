@@ -12,10 +12,17 @@ public class ArgumentImpl implements Argument {
 
     private final int index;
     private final String value;
+    @Nullable
+    private final CharSequence slice;
 
     public ArgumentImpl(int index, @Nullable String value) {
+        this(index, value, null);
+    }
+
+    public ArgumentImpl(int index, @Nullable String value, @Nullable CharSequence slice) {
         this.index = index;
         this.value = value;
+        this.slice = slice;
     }
 
     @Override
@@ -29,4 +36,10 @@ public class ArgumentImpl implements Argument {
         return Optional.ofNullable(value);
     }
 
+    @NotNull
+    @Override
+    public CharSequence slice() {
+        return slice != null ? slice : value != null ? value : "";
+    }
+
 }
\ No newline at end of file
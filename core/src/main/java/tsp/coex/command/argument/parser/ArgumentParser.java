@@ -0,0 +1,110 @@
+package tsp.coex.command.argument.parser;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.command.argument.Argument;
+import tsp.coex.command.argument.suggestion.SuggestionIndex;
+import tsp.coex.command.completion.Completions;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a parser for an {@link Argument}.
+ * <bold>Note: that parsers should fail when an empty string is provided!</bold>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public interface ArgumentParser<T> {
+
+    /**
+     * Parses the given string using this parser.
+     *
+     * @param s The argument string
+     * @return The parsed argument, if present
+     */
+    Optional<T> parse(String s);
+
+    /**
+     * Suggest completions for a partially typed argument.
+     *
+     * @param prefix The partially typed argument
+     * @return List of suggestions, empty if this parser does not suggest
+     */
+    @NotNull
+    default List<String> suggest(@NotNull String prefix) {
+        return List.of();
+    }
+
+    /**
+     * Suggest completions for a partially typed argument, for a specific sender.
+     * Parsers override this to hide suggestions from the sender, e.g. players the sender can not see.
+     *
+     * @param sender The sender completing
+     * @param prefix The partially typed argument
+     * @return List of suggestions, empty if this parser does not suggest
+     */
+    @NotNull
+    default List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix) {
+        return suggest(prefix);
+    }
+
+    /**
+     * Parses the given argument using this parser, otherwise fail.
+     *
+     * @param s The string argument
+     * @return The parsed argument
+     */
+    @NotNull
+    default T parseOrFail(@NotNull String s) throws IllegalArgumentException {
+        return parse(s).orElseThrow(() -> new IllegalArgumentException("&cArgument " + s + " is missing."));
+    }
+
+    /**
+     * Parses the given argument using this parser.
+     *
+     * @param argument The argument
+     * @return The parsed argument, if present
+     */
+    @NotNull
+    default Optional<T> parse(@NotNull Argument argument) {
+        return argument.value().flatMap(this::parse);
+    }
+
+    /**
+     * Parses the given argument using this parser, otherwise fail.
+     *
+     * @param argument The argument
+     * @return The parsed argument
+     */
+    @NotNull
+    default T parseOrFail(@NotNull Argument argument) throws IllegalArgumentException {
+        return parseOrFail(argument.value().orElseThrow(() -> new IllegalArgumentException("&cArgument " + argument.index() + " is missing.")));
+    }
+
+    /**
+     * Create a parser suggesting from a {@link SuggestionIndex}, at most {@link SuggestionIndex#SUGGESTION_LIMIT} names.
+     *
+     * @param parser The parser
+     * @param index The index to suggest from
+     * @return The suggesting parser
+     * @param <T> The type
+     */
+    @NotNull
+    static <T> ArgumentParser<T> suggesting(@NotNull ArgumentParser<T> parser, @NotNull SuggestionIndex index) {
+        return new ArgumentParser<>() {
+            @Override
+            public Optional<T> parse(String s) {
+                return parser.parse(s);
+            }
+
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull String prefix) {
+                List<String> names = index.find(prefix, SuggestionIndex.SUGGESTION_LIMIT);
+                return names.size() < SuggestionIndex.SUGGESTION_LIMIT ? Completions.exhaustive(names) : names;
+            }
+        };
+    }
+
+}
\ No newline at end of file
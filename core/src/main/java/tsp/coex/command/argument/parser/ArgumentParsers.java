@@ -0,0 +1,250 @@
+package tsp.coex.command.argument.parser;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.command.argument.suggestion.SuggestionIndex;
+import tsp.coex.command.argument.suggestion.SuggestionIndexes;
+import tsp.coex.command.completion.Completions;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the main instance for all {@link ArgumentParser parsers}.
+ * <bold>Note: that parsers should fail when an empty string is provided!</bold>
+ *
+ * <p>
+ * Lookups are lock-free and safe from any thread: registrations publish a new immutable snapshot,
+ * and resolved lookups are cached per snapshot.
+ * A type without its own parsers resolves to the parsers of its nearest supertype (superclass first, then interfaces),
+ * results that are not an instance of the requested type are rejected.
+ * Primitive types resolve to their wrapper type.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class ArgumentParsers {
+
+    /**
+     * Singleton instance used for accessing the global {@link ArgumentParsers}.
+     */
+    public static final ArgumentParsers INSTANCE = new ArgumentParsers();
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = Map.of(
+            int.class, Integer.class,
+            long.class, Long.class,
+            double.class, Double.class,
+            float.class, Float.class,
+            short.class, Short.class,
+            byte.class, Byte.class,
+            boolean.class, Boolean.class,
+            char.class, Character.class
+    );
+
+    private volatile Registry registry = new Registry(Map.of());
+
+    @SuppressWarnings("deprecation")
+    private ArgumentParsers() {
+        register(String.class, Optional::of);
+        register(Number.class, NumbersParser::parse);
+        register(Integer.class, NumbersParser::parseInteger);
+        register(Long.class, NumbersParser::parseLong);
+        register(Float.class, NumbersParser::parseFloat);
+        register(Double.class, NumbersParser::parseDouble);
+        register(Short.class, NumbersParser::parseShort);
+        register(Byte.class, NumbersParser::parseByte);
+        register(Character.class, s -> s.length() == 1 ? Optional.of(s.charAt(0)) : Optional.empty());
+        register(Boolean.class, s -> {
+            if (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("yes") || s.equalsIgnoreCase("on")) {
+                return Optional.of(true);
+            } else if (s.equalsIgnoreCase("false") || s.equalsIgnoreCase("No") || s.equalsIgnoreCase("off")) {
+                return Optional.of(false);
+            } else {
+                return Optional.empty();
+            }
+        });
+        register(UUID.class, s -> {
+            try {
+                return Optional.of(UUID.fromString(s));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        });
+        register(Player.class, new ArgumentParser<>() {
+            @Override
+            public Optional<Player> parse(String s) {
+                try {
+                    return Optional.ofNullable(Bukkit.getPlayer(UUID.fromString(s)));
+                } catch (IllegalArgumentException e) {
+                    return Optional.ofNullable(Bukkit.getPlayer(s));
+                }
+            }
+
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull String prefix) {
+                List<String> names = SuggestionIndexes.PLAYERS.find(prefix, SuggestionIndex.SUGGESTION_LIMIT);
+                return names.size() < SuggestionIndex.SUGGESTION_LIMIT ? Completions.exhaustive(names) : names;
+            }
+
+            // The index holds every online player, hide those the sender can not see (e.g. vanished)
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix) {
+                List<String> names = suggest(prefix);
+                if (!(sender instanceof Player viewer)) {
+                    return names;
+                }
+
+                List<String> visible = new ArrayList<>(names.size());
+                for (String name : names) {
+                    Player player = Bukkit.getPlayerExact(name);
+                    if (player == null || viewer.canSee(player)) {
+                        visible.add(name);
+                    }
+                }
+                return Completions.isExhaustive(names) ? Completions.exhaustive(visible) : visible;
+            }
+        });
+        // Known names resolve without a lookup, unknown names may block on a profile lookup,
+        // see OfflinePlayerIndex#parser() and OfflinePlayerIndex#resolve(String) for non-blocking alternatives
+        register(OfflinePlayer.class, ArgumentParser.suggesting(s -> {
+            Optional<OfflinePlayer> known = SuggestionIndexes.OFFLINE_PLAYER_IDS.findPlayer(s);
+            return known.isPresent() ? known : Optional.of(Bukkit.getOfflinePlayer(s));
+        }, SuggestionIndexes.OFFLINE_PLAYERS));
+        register(World.class, ArgumentParser.suggesting(s -> Optional.ofNullable(Bukkit.getWorld(s)), SuggestionIndexes.WORLDS));
+        register(Duration.class, DurationParser::parseSafely);
+        register(Component.class, ComponentParser.DEFAULT);
+    }
+
+    @NotNull
+    public <T> Optional<ArgumentParser<T>> find(@NotNull Class<T> type) {
+        return (Optional) registry.resolve(type).first;
+    }
+
+    @NotNull
+    public <T> Collection<ArgumentParser<T>> findAll(@NotNull Class<T> type) {
+        return (Collection) registry.resolve(type).all;
+    }
+
+    /**
+     * Register a new {@link ArgumentParser} with the class type.
+     *
+     * @param type The class type for the parser
+     * @param parser The parser
+     * @param <T> The type
+     */
+    public synchronized <T> void register(@NotNull Class<T> type, @NotNull ArgumentParser<T> parser) {
+        Map<Class<?>, List<ArgumentParser<?>>> parsers = registry.parsers;
+        List<ArgumentParser<?>> list = parsers.getOrDefault(type, List.of());
+        if (list.contains(parser)) {
+            return;
+        }
+
+        List<ArgumentParser<?>> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        copy.add(parser);
+
+        Map<Class<?>, List<ArgumentParser<?>>> snapshot = new HashMap<>(parsers);
+        snapshot.put(type, List.copyOf(copy));
+        this.registry = new Registry(Map.copyOf(snapshot));
+    }
+
+    /**
+     * An immutable snapshot of registered parsers, with lookups cached per snapshot.
+     */
+    private static final class Registry {
+
+        private final Map<Class<?>, List<ArgumentParser<?>>> parsers;
+        private final Map<Class<?>, Resolved> resolved = new ConcurrentHashMap<>();
+
+        private Registry(Map<Class<?>, List<ArgumentParser<?>>> parsers) {
+            this.parsers = parsers;
+        }
+
+        private Resolved resolve(Class<?> type) {
+            Resolved result = resolved.get(type);
+            if (result == null) {
+                result = resolved.computeIfAbsent(type, this::compute);
+            }
+            return result;
+        }
+
+        private Resolved compute(Class<?> type) {
+            Class<?> target = PRIMITIVES.getOrDefault(type, type);
+            List<ArgumentParser<?>> exact = parsers.get(target);
+            if (exact != null) {
+                return new Resolved(exact);
+            }
+
+            // Nearest supertype, breadth-first: superclass chain before interfaces
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            Set<Class<?>> visited = new HashSet<>();
+            queue.add(target);
+            while (!queue.isEmpty()) {
+                Class<?> current = queue.poll();
+                if (!visited.add(current)) {
+                    continue;
+                }
+
+                List<ArgumentParser<?>> list = parsers.get(current);
+                if (list != null && current != target) {
+                    List<ArgumentParser<?>> checked = new ArrayList<>(list.size());
+                    for (ArgumentParser<?> parser : list) {
+                        checked.add(checked(target, parser));
+                    }
+                    return new Resolved(List.copyOf(checked));
+                }
+
+                if (current.getSuperclass() != null) {
+                    queue.add(current.getSuperclass());
+                }
+                queue.addAll(Arrays.asList(current.getInterfaces()));
+            }
+
+            return new Resolved(List.of());
+        }
+
+        private static <T> ArgumentParser<T> checked(Class<T> type, ArgumentParser<?> parser) {
+            return new ArgumentParser<>() {
+                @Override
+                public Optional<T> parse(String s) {
+                    return parser.parse(s).filter(type::isInstance).map(type::cast);
+                }
+
+                @NotNull
+                @Override
+                public List<String> suggest(@NotNull String prefix) {
+                    return parser.suggest(prefix);
+                }
+
+                @NotNull
+                @Override
+                public List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix) {
+                    return parser.suggest(sender, prefix);
+                }
+            };
+        }
+
+    }
+
+    private static final class Resolved {
+
+        private final Optional<ArgumentParser<?>> first;
+        private final List<ArgumentParser<?>> all;
+
+        private Resolved(List<ArgumentParser<?>> all) {
+            this.first = all.isEmpty() ? Optional.empty() : Optional.of(all.get(0));
+            this.all = all;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,516 @@
+package tsp.coex.command.argument.parser;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.ParsingException;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.permission.PermissionCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parses MiniMessage formatted {@link Component components} from untrusted input, e.g. for {@code /nick} or {@code /broadcast}.
+ *
+ * <p>
+ * Input is scanned before it is deserialized, and rejected if it is too long, nests tags too deep, or uses a tag that is not allowed.
+ * Deserialization only resolves the tags allowed for the sender as well, so input the scan misreads can not use any other tag.
+ * Named and hex colors are checked as the {@code color} tag, every other tag by its name as written, e.g. {@code b} and {@code bold} are separate tags.
+ * Tags can be {@link Builder#restrict(String, String) restricted} to senders with a permission,
+ * use {@link #forSender(CommandSender)} to resolve these once for a sender.
+ * </p>
+ *
+ * <p>
+ * Deserialized components are kept in a least recently used cache, so repeated input is only deserialized once.
+ * </p>
+ *
+ * <pre>{@code
+ * ComponentParser parser = ComponentParser.builder()
+ *         .allow("color", "bold", "italic")
+ *         .restrict("gradient", "nick.gradient")
+ *         .maxLength(64)
+ *         .build();
+ * Component nick = parser.forSender(ctx.sender()).parse(ctx.argument(0)).orElse(null);
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class ComponentParser implements ArgumentParser<Component> {
+
+    /**
+     * Parser allowing every tag, with the default limits. Registered for {@link Component} in {@link ArgumentParsers}.
+     */
+    public static final ComponentParser DEFAULT = builder().build();
+
+    /**
+     * Tags that do not enclose content, so they do not count towards the depth.
+     */
+    private static final Set<String> VOID_TAGS = Set.of("br", "newline", "key", "lang", "tr", "translate", "lang_or", "tr_or", "translate_or", "selector", "sel", "score", "nbt", "data", "keybind");
+    private static final int OTHER = 62; // Bit of tags that are neither allowed nor restricted
+    private static final long TOO_DEEP = 1L << 63; // Never allowed
+
+    // Tags are passed per deserialization, filtered to the tags allowed for the sender
+    private static final MiniMessage NO_TAGS = MiniMessage.builder().tags(TagResolver.empty()).build();
+
+    private final TagResolver resolver;
+    private final int maxLength;
+    private final int maxDepth;
+    private final Map<String, Integer> tags; // Bit per allowed or restricted tag
+    private final long allowed;
+    private final String[] permissions; // Permission per restricted bit
+    private final long[] restricted;
+    @Nullable
+    private final Map<Key, Component> cache;
+
+    private ComponentParser(Builder builder) {
+        this.resolver = builder.resolver;
+        this.maxLength = builder.maxLength;
+        this.maxDepth = builder.maxDepth;
+
+        Map<String, Integer> tags = new HashMap<>();
+        long allowed = builder.allowed == null ? 1L << OTHER : 0;
+        if (builder.allowed != null) {
+            for (String tag : builder.allowed) {
+                allowed |= 1L << bit(tags, tagName(tag));
+            }
+        }
+
+        List<String> permissions = new ArrayList<>();
+        List<Long> restricted = new ArrayList<>();
+        for (Map.Entry<String, String> entry : builder.restricted.entrySet()) {
+            long mask = 1L << bit(tags, tagName(entry.getKey()));
+            allowed &= ~mask;
+            int index = permissions.indexOf(entry.getValue());
+            if (index < 0) {
+                permissions.add(entry.getValue());
+                restricted.add(mask);
+            } else {
+                restricted.set(index, restricted.get(index) | mask);
+            }
+        }
+
+        this.tags = Map.copyOf(tags);
+        this.allowed = allowed;
+        this.permissions = permissions.toArray(new String[0]);
+        this.restricted = restricted.stream().mapToLong(Long::longValue).toArray();
+
+        int cacheSize = builder.cacheSize;
+        this.cache = cacheSize > 0 ? new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Component> eldest) {
+                return size() > cacheSize;
+            }
+        } : null;
+    }
+
+    private static int bit(Map<String, Integer> tags, String tag) {
+        Integer bit = tags.get(tag);
+        if (bit == null) {
+            if (tags.size() == OTHER) {
+                throw new IllegalArgumentException("At most " + OTHER + " tags can be allowed or restricted!");
+            }
+            bit = tags.size();
+            tags.put(tag, bit);
+        }
+        return bit;
+    }
+
+    /**
+     * Create a builder.
+     *
+     * @return The builder
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parse input using the tags allowed for everyone.
+     *
+     * @param s The argument string
+     * @return The component, empty if the input is rejected
+     */
+    @Override
+    public Optional<Component> parse(String s) {
+        return parse(s, allowed);
+    }
+
+    /**
+     * Parse input using the tags allowed for a sender.
+     *
+     * @param sender The sender
+     * @param s The argument string
+     * @return The component, empty if the input is rejected
+     */
+    @NotNull
+    public Optional<Component> parse(@NotNull CommandSender sender, @NotNull String s) {
+        return parse(s, allowed(sender));
+    }
+
+    /**
+     * Create a parser using the tags allowed for a sender. Restricted tags are resolved once, when calling this method.
+     *
+     * @param sender The sender
+     * @return The parser
+     */
+    @NotNull
+    public ArgumentParser<Component> forSender(@NotNull CommandSender sender) {
+        long allowed = allowed(sender);
+        return s -> parse(s, allowed);
+    }
+
+    private long allowed(CommandSender sender) {
+        long allowed = this.allowed;
+        for (int i = 0; i < permissions.length; i++) {
+            if (PermissionCache.hasPermission(sender, permissions[i])) {
+                allowed |= restricted[i];
+            }
+        }
+        return allowed;
+    }
+
+    private Optional<Component> parse(String s, long allowed) {
+        if (s == null || s.isEmpty() || s.length() > maxLength) {
+            return Optional.empty();
+        }
+
+        // Results are cached per set of allowed tags, as disallowed tags are deserialized as text
+        Key key = new Key(s, allowed);
+        Component component = cached(key);
+        if (component == null) {
+            if ((scan(s) & ~allowed) != 0) {
+                return Optional.empty();
+            }
+
+            component = NO_TAGS.deserialize(s, new Permitted(allowed));
+            if (cache != null) {
+                synchronized (cache) {
+                    cache.put(key, component);
+                }
+            }
+        }
+        return Optional.of(component);
+    }
+
+    @Nullable
+    private Component cached(Key key) {
+        if (cache == null) {
+            return null;
+        }
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private boolean isAllowed(String name, long allowed) {
+        if (name.startsWith("!")) {
+            name = name.substring(1);
+        }
+        Integer bit = tags.get(tagName(name.toLowerCase(Locale.ROOT)));
+        return (allowed & (1L << (bit != null ? bit : OTHER))) != 0;
+    }
+
+    /**
+     * Scan the tags of the input without deserializing it.
+     *
+     * @return Bitset of used tags, including {@link #TOO_DEEP} if the tags nest too deep
+     */
+    private long scan(String s) {
+        long used = 0;
+        String[] open = null; // Names of the open tags, innermost last
+        int depth = 0;
+        int length = s.length();
+        int pos = 0;
+        while (pos < length) {
+            char c = s.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (c != '<') {
+                pos++;
+                continue;
+            }
+
+            int end = tagEnd(s, pos + 1);
+            if (end < 0) {
+                pos++; // Unclosed, this '<' is text but a later one may still open a tag
+                continue;
+            }
+
+            int nameStart = pos + 1;
+            boolean closing = false;
+            if (nameStart < end && s.charAt(nameStart) == '/') {
+                closing = true;
+                nameStart++;
+            } else if (nameStart < end && s.charAt(nameStart) == '!') {
+                nameStart++;
+            }
+
+            int nameEnd = nameStart;
+            while (nameEnd < end && s.charAt(nameEnd) != ':' && s.charAt(nameEnd) != '/') {
+                nameEnd++;
+            }
+            if (nameEnd == nameStart || !isName(s, nameStart, nameEnd)) {
+                pos++; // Not a tag, e.g. "a < b > c"
+                continue;
+            }
+
+            String raw = s.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT);
+            String name = tagName(raw);
+            boolean selfClosing = s.charAt(end - 1) == '/';
+            if (closing) {
+                // Like MiniMessage, a closing tag closes the nearest open tag of the same name and every tag inside it,
+                // unmatched closing tags are ignored
+                for (int i = depth - 1; i >= 0; i--) {
+                    if (open[i].equals(raw)) {
+                        depth = i;
+                        break;
+                    }
+                }
+            } else {
+                Integer bit = tags.get(name);
+                used |= 1L << (bit != null ? bit : OTHER);
+                if (name.equals("reset")) {
+                    depth = 0;
+                } else if (!selfClosing && !VOID_TAGS.contains(name)) {
+                    if (depth == maxDepth) {
+                        return used | TOO_DEEP;
+                    }
+                    if (open == null) {
+                        open = new String[maxDepth];
+                    }
+                    open[depth++] = raw;
+                }
+            }
+            pos = end + 1;
+        }
+        return used;
+    }
+
+    // Index of the closing '>' of a tag, skipping quoted arguments
+    private static int tagEnd(String s, int start) {
+        char quote = 0;
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isName(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || (c == '#' && i == start))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String tagName(String name) {
+        if (name.startsWith("#") || name.equals("colour") || name.equals("c") || name.equals("grey") || name.equals("dark_grey") || NamedTextColor.NAMES.value(name) != null) {
+            return "color";
+        }
+        return name;
+    }
+
+    /**
+     * The maximum input length.
+     *
+     * @return Maximum length
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * The maximum depth of nested tags.
+     *
+     * @return Maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Clear the cache of deserialized components.
+     */
+    public void clearCache() {
+        if (cache != null) {
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+    }
+
+    private record Key(String input, long allowed) {}
+
+    /**
+     * Resolves the tags of the base resolver that are allowed.
+     */
+    private final class Permitted implements TagResolver {
+
+        private final long allowed;
+
+        private Permitted(long allowed) {
+            this.allowed = allowed;
+        }
+
+        @Nullable
+        @Override
+        public Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) throws ParsingException {
+            return isAllowed(name, allowed) ? resolver.resolve(name, arguments, ctx) : null;
+        }
+
+        @Override
+        public boolean has(@NotNull String name) {
+            return isAllowed(name, allowed) && resolver.has(name);
+        }
+
+    }
+
+    /**
+     * Builds a {@link ComponentParser}.
+     */
+    public static final class Builder {
+
+        private TagResolver resolver = TagResolver.standard();
+        private int maxLength = 256;
+        private int maxDepth = 8;
+        private int cacheSize = 256;
+        @Nullable
+        private Set<String> allowed;
+        private final Map<String, String> restricted = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Set the tags available to deserialize, before they are filtered by {@link #allow(String...)} and {@link #restrict(String, String)}.
+         * Defaults to {@link TagResolver#standard()}.
+         *
+         * @param resolver The tags
+         * @return This builder
+         */
+        @NotNull
+        public Builder tags(@NotNull TagResolver resolver) {
+            this.resolver = resolver;
+            return this;
+        }
+
+        /**
+         * Set the maximum input length, defaults to 256.
+         *
+         * @param maxLength The maximum
+         * @return This builder
+         */
+        @NotNull
+        public Builder maxLength(int maxLength) {
+            if (maxLength < 1) {
+                throw new IllegalArgumentException("Max length must be positive!");
+            }
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Set the maximum depth of nested tags, defaults to 8.
+         *
+         * @param maxDepth The maximum
+         * @return This builder
+         */
+        @NotNull
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("Max depth can not be negative!");
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Set the amount of deserialized components kept, defaults to 256.
+         *
+         * @param cacheSize The cache size, or {@code 0} to disable caching
+         * @return This builder
+         */
+        @NotNull
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("Cache size can not be negative!");
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Only allow the given tags for everyone, by default every tag is allowed.
+         * Named and hex colors are allowed by {@code color}.
+         *
+         * @param tags The tag names
+         * @return This builder
+         */
+        @NotNull
+        public Builder allow(@NotNull String... tags) {
+            if (allowed == null) {
+                allowed = new LinkedHashSet<>();
+            }
+            for (String tag : tags) {
+                allowed.add(tag.toLowerCase(Locale.ROOT));
+            }
+            return this;
+        }
+
+        /**
+         * Only allow a tag for senders with a permission, whether or not it is {@link #allow(String...) allowed} for everyone.
+         *
+         * @param tag The tag name
+         * @param permission The permission
+         * @return This builder
+         */
+        @NotNull
+        public Builder restrict(@NotNull String tag, @NotNull String permission) {
+            restricted.put(tag.toLowerCase(Locale.ROOT), permission);
+            return this;
+        }
+
+        /**
+         * Build the parser.
+         *
+         * @return The parser
+         */
+        @NotNull
+        public ComponentParser build() {
+            return new ComponentParser(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of LuckPerms, licensed under the MIT License.
+ *
+ *  Copyright (c) lucko (Luck) <luck@lucko.me>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package tsp.coex.command.argument.parser;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Parses durations from a string format, e.g. {@code 1d2h}, {@code 3 weeks, 2 days} or {@code 90} (seconds).
+ * Parsing is a single pass over the input without regular expressions or intermediate strings.
+ */
+public final class DurationParser {
+
+    private DurationParser() {}
+
+    private static final long FAILED = -1;
+
+    // Aliases per unit, longest first so the longest alias is matched (e.g. "mo" before "m")
+    private static final String[] ALIASES = {
+            "minutes", "seconds", "months", "minute", "second", "month", "years", "hours", "weeks",
+            "year", "hour", "week", "days", "mins", "secs", "min", "sec", "mos", "hrs", "day",
+            "mo", "hr", "ys", "ws", "ds", "hs", "ms", "ss", "y", "w", "d", "h", "m", "s"
+    };
+
+    private static final ChronoUnit[] ALIAS_UNITS = {
+            ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.MONTHS, ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.MONTHS, ChronoUnit.YEARS, ChronoUnit.HOURS, ChronoUnit.WEEKS,
+            ChronoUnit.YEARS, ChronoUnit.HOURS, ChronoUnit.WEEKS, ChronoUnit.DAYS, ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.MONTHS, ChronoUnit.HOURS, ChronoUnit.DAYS,
+            ChronoUnit.MONTHS, ChronoUnit.HOURS, ChronoUnit.YEARS, ChronoUnit.WEEKS, ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.YEARS, ChronoUnit.WEEKS, ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS
+    };
+
+    // Every supported unit is a whole amount of seconds, so the scanner works on seconds
+    private static final long[] ALIAS_SECONDS = new long[ALIAS_UNITS.length];
+
+    static {
+        for (int i = 0; i < ALIAS_UNITS.length; i++) {
+            ALIAS_SECONDS[i] = ALIAS_UNITS[i].getDuration().getSeconds();
+        }
+    }
+
+    /**
+     * Parses a {@link Duration} from a string.
+     * Leading text before the first number and trailing text that is not part of a duration are ignored.
+     *
+     * @param input the input string
+     * @return the parsed duration
+     * @throws IllegalArgumentException if parsing fails
+     */
+    public static Duration parse(String input) throws IllegalArgumentException {
+        return parse(input, false);
+    }
+
+    /**
+     * Parses a {@link Duration} from a string.
+     *
+     * @param input the input string
+     * @param strict whether the entire input must be a duration, rejecting leading and trailing garbage
+     * @return the parsed duration
+     * @throws IllegalArgumentException if parsing fails
+     */
+    public static Duration parse(String input, boolean strict) throws IllegalArgumentException {
+        long seconds = scan(input, strict);
+        if (seconds == FAILED) {
+            throw new IllegalArgumentException("unable to parse duration: " + input);
+        }
+        return Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * Attempts to parse a {@link Duration} and returns the
+     * result as an {@link Optional}-wrapped object.
+     *
+     * @param input the input string
+     * @return an Optional Duration
+     */
+    @Nonnull
+    public static Optional<Duration> parseSafely(String input) {
+        return parseSafely(input, false);
+    }
+
+    /**
+     * Attempts to parse a {@link Duration} and returns the
+     * result as an {@link Optional}-wrapped object.
+     *
+     * @param input the input string
+     * @param strict whether the entire input must be a duration, rejecting leading and trailing garbage
+     * @return an Optional Duration
+     */
+    @Nonnull
+    public static Optional<Duration> parseSafely(String input, boolean strict) {
+        long seconds = scan(input, strict);
+        return seconds == FAILED ? Optional.empty() : Optional.of(Duration.ofSeconds(seconds));
+    }
+
+    /**
+     * Scan the input as a sequence of {@code <number>[whitespace][unit][separators]} pairs.
+     * A number without a unit is treated as seconds.
+     *
+     * @param input the input string
+     * @param strict whether the entire input must be consumed
+     * @return the total amount of seconds, or {@link #FAILED}
+     */
+    private static long scan(CharSequence input, boolean strict) {
+        if (input == null) {
+            return FAILED;
+        }
+
+        int length = input.length();
+        int i = 0;
+
+        // Fast path: plain number of seconds
+        while (i < length && isDigit(input.charAt(i))) {
+            i++;
+        }
+        if (i == length && i > 0 && i <= 9) {
+            long seconds = 0;
+            for (int j = 0; j < length; j++) {
+                seconds = seconds * 10 + (input.charAt(j) - '0');
+            }
+            return seconds;
+        }
+
+        i = 0;
+        if (!strict) {
+            while (i < length && !isDigit(input.charAt(i))) {
+                i++;
+            }
+        }
+
+        long total = 0;
+        boolean matched = false;
+        while (i < length && isDigit(input.charAt(i))) {
+            // Number
+            long n = 0;
+            while (i < length && isDigit(input.charAt(i))) {
+                n = n * 10 + (input.charAt(i) - '0');
+                if (n > Integer.MAX_VALUE) {
+                    return FAILED;
+                }
+                i++;
+            }
+
+            // Whitespace between number and unit
+            int unitStart = i;
+            while (unitStart < length && Character.isWhitespace(input.charAt(unitStart))) {
+                unitStart++;
+            }
+
+            // Unit, seconds if absent
+            long unitSeconds = 1;
+            int alias = matchAlias(input, unitStart);
+            if (alias >= 0) {
+                unitSeconds = ALIAS_SECONDS[alias];
+                i = unitStart + ALIASES[alias].length();
+            }
+
+            try {
+                total = Math.addExact(total, Math.multiplyExact(n, unitSeconds));
+            } catch (ArithmeticException e) {
+                return FAILED;
+            }
+            matched = true;
+
+            // Separators
+            while (i < length && (input.charAt(i) == ',' || Character.isWhitespace(input.charAt(i)))) {
+                i++;
+            }
+        }
+
+        if (!matched || (strict && i != length)) {
+            return FAILED;
+        }
+        return total;
+    }
+
+    private static int matchAlias(CharSequence input, int offset) {
+        int available = input.length() - offset;
+        for (int a = 0; a < ALIASES.length; a++) {
+            String alias = ALIASES[a];
+            int length = alias.length();
+            if (length > available) {
+                continue;
+            }
+
+            boolean match = true;
+            for (int c = 0; c < length; c++) {
+                if (Character.toLowerCase(input.charAt(offset + c)) != alias.charAt(c)) {
+                    match = false;
+                    break;
+                }
+            }
+
+            if (match) {
+                return a;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
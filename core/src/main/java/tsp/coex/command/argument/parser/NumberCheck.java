@@ -0,0 +1,40 @@
+package tsp.coex.command.argument.parser;
+
+/**
+ * The result of checking a number without parsing it into an object.
+ *
+ * @author TheSilentPro (Silent)
+ * @see NumbersParser#checkInt(CharSequence, int, int)
+ */
+public enum NumberCheck {
+
+    /**
+     * The input is a number within range.
+     */
+    VALID,
+
+    /**
+     * The input is not a number.
+     */
+    INVALID,
+
+    /**
+     * The input is a number below the minimum.
+     */
+    BELOW_MIN,
+
+    /**
+     * The input is a number above the maximum.
+     */
+    ABOVE_MAX;
+
+    /**
+     * Whether the input is valid.
+     *
+     * @return True if valid
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+}
@@ -0,0 +1,375 @@
+package tsp.coex.command.argument.parser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author TheSilentPro (Silent)
+ */
+public final class NumbersParser {
+
+    private NumbersParser() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    // Decimals with more significant digits than this are not exactly representable as a double
+    private static final int DOUBLE_DIGITS = 15;
+
+    private static final ThreadLocal<Map<Locale, NumberFormat>> FORMATS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Parse a number, picking the type from the shape of the input:
+     * {@link Long} for integers, {@link Double} for decimals and {@link BigDecimal} for values that do not fit either exactly.
+     * The format is locale independent ({@code 1.5}, {@code -3}, {@code 2e6}), grouping separators are not supported.
+     * Safe to call from any thread.
+     *
+     * @param s The input
+     * @return The number, if valid
+     * @see #parseLocalized(String, Locale)
+     */
+    @Nonnull
+    public static Optional<Number> parse(@Nullable String s) {
+        if (s == null) {
+            return Optional.empty();
+        }
+
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+
+        int digits = 0;
+        int significant = 0;
+        boolean decimal = false;
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+                if (significant > 0 || c != '0') {
+                    significant++;
+                }
+            } else if (c == '.' && !decimal) {
+                decimal = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Optional.empty();
+        }
+
+        if (i < length) {
+            // Only an exponent may follow, validated by the decimal check
+            if (!isDecimal(s)) {
+                return Optional.empty();
+            }
+            decimal = true;
+        }
+
+        if (!decimal) {
+            NumberCheck check = checkLong(s, Long.MIN_VALUE, Long.MAX_VALUE);
+            return Optional.of(check.isValid() ? (Number) parseLongUnchecked(s) : new BigDecimal(s));
+        }
+
+        if (significant <= DOUBLE_DIGITS) {
+            double value = Double.parseDouble(s);
+            if (!Double.isInfinite(value) && (value != 0 || significant == 0)) {
+                return Optional.of(value);
+            }
+        }
+        return Optional.of(new BigDecimal(s));
+    }
+
+    /**
+     * Parse a number using the format of a locale, e.g. {@code 1.234,5} for {@link Locale#GERMANY}.
+     * Unlike {@link NumberFormat#parse(String)} the entire input must be a number.
+     * The {@link NumberFormat} is cached per thread and locale, so this is safe to call from any thread.
+     *
+     * @param s The input
+     * @param locale The locale
+     * @return The number, if valid
+     */
+    @Nonnull
+    public static Optional<Number> parseLocalized(@Nullable String s, @Nonnull Locale locale) {
+        if (s == null || s.isEmpty()) {
+            return Optional.empty();
+        }
+
+        NumberFormat format = FORMATS.get().computeIfAbsent(locale, NumberFormat::getInstance);
+        ParsePosition position = new ParsePosition(0);
+        Number result = format.parse(s, position);
+        if (result == null || position.getIndex() != s.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    @Nonnull
+    public static Optional<Integer> parseInteger(@Nullable String s) {
+        if (s == null || !checkInt(s, Integer.MIN_VALUE, Integer.MAX_VALUE).isValid()) {
+            return Optional.empty();
+        }
+        return Optional.of(parseIntUnchecked(s));
+    }
+
+    @Nonnull
+    public static Optional<Long> parseLong(@Nullable String s) {
+        if (s == null || !checkLong(s, Long.MIN_VALUE, Long.MAX_VALUE).isValid()) {
+            return Optional.empty();
+        }
+        return Optional.of(parseLongUnchecked(s));
+    }
+
+    @Nonnull
+    public static Optional<Float> parseFloat(@Nullable String s) {
+        if (s == null || !isDecimal(s)) {
+            return Optional.empty();
+        }
+        return Optional.of(Float.parseFloat(s));
+    }
+
+    @Nonnull
+    public static Optional<Double> parseDouble(@Nullable String s) {
+        if (s == null || !isDecimal(s)) {
+            return Optional.empty();
+        }
+        return Optional.of(Double.parseDouble(s));
+    }
+
+    @Nonnull
+    public static Optional<Short> parseShort(@Nullable String s) {
+        if (s == null || !checkInt(s, Short.MIN_VALUE, Short.MAX_VALUE).isValid()) {
+            return Optional.empty();
+        }
+        return Optional.of((short) parseIntUnchecked(s));
+    }
+
+    @Nonnull
+    public static Optional<Byte> parseByte(@Nullable String s) {
+        if (s == null || !checkInt(s, Byte.MIN_VALUE, Byte.MAX_VALUE).isValid()) {
+            return Optional.empty();
+        }
+        return Optional.of((byte) parseIntUnchecked(s));
+    }
+
+    // Primitive, exception-free parsing.
+    // The check methods validate the input and range in a single pass, the unchecked methods must only be called on input that passed the check.
+
+    /**
+     * Check whether the input is an integer within a range.
+     * Accepts an optional sign followed by ASCII digits.
+     *
+     * @param s The input
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The result
+     */
+    @Nonnull
+    public static NumberCheck checkInt(@Nonnull CharSequence s, int min, int max) {
+        return checkLong(s, min, max);
+    }
+
+    /**
+     * Check whether the input is a long within a range.
+     * Accepts an optional sign followed by ASCII digits.
+     *
+     * @param s The input
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The result
+     */
+    @Nonnull
+    public static NumberCheck checkLong(@Nonnull CharSequence s, long min, long max) {
+        int length = s.length();
+        if (length == 0) {
+            return NumberCheck.INVALID;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (length == 1) {
+                return NumberCheck.INVALID;
+            }
+        }
+
+        // Accumulate negatively, the negative range is larger
+        long result = 0;
+        boolean overflow = false;
+        for (; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NumberCheck.INVALID;
+            }
+            if (!overflow) {
+                if (result < Long.MIN_VALUE / 10 || result * 10 < Long.MIN_VALUE + digit) {
+                    overflow = true;
+                } else {
+                    result = result * 10 - digit;
+                }
+            }
+        }
+
+        if (overflow) {
+            return negative ? NumberCheck.BELOW_MIN : NumberCheck.ABOVE_MAX;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) {
+                return NumberCheck.ABOVE_MAX;
+            }
+            result = -result;
+        }
+
+        if (result < min) {
+            return NumberCheck.BELOW_MIN;
+        }
+        if (result > max) {
+            return NumberCheck.ABOVE_MAX;
+        }
+        return NumberCheck.VALID;
+    }
+
+    /**
+     * Check whether the input is a decimal number within a range.
+     * Accepts an optional sign, digits with an optional fraction and an optional exponent, e.g. {@code -1.5e3}.
+     *
+     * @param s The input
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The result
+     */
+    @Nonnull
+    public static NumberCheck checkDouble(@Nonnull CharSequence s, double min, double max) {
+        if (!isDecimal(s)) {
+            return NumberCheck.INVALID;
+        }
+
+        return checkDouble(Double.parseDouble(s.toString()), min, max);
+    }
+
+    /**
+     * Check whether a parsed decimal number is within a range.
+     * Use with {@link #isDecimal(CharSequence)} and {@link #parseDoubleUnchecked(CharSequence)} to parse the input only once.
+     *
+     * @param value The value
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The result
+     */
+    @Nonnull
+    public static NumberCheck checkDouble(double value, double min, double max) {
+        if (value < min) {
+            return NumberCheck.BELOW_MIN;
+        }
+        if (value > max) {
+            return NumberCheck.ABOVE_MAX;
+        }
+        return NumberCheck.VALID;
+    }
+
+    /**
+     * Parse an integer that passed {@link #checkInt(CharSequence, int, int)}.
+     *
+     * @param s The input
+     * @return The value
+     */
+    public static int parseIntUnchecked(@Nonnull CharSequence s) {
+        return (int) parseLongUnchecked(s);
+    }
+
+    /**
+     * Parse a long that passed {@link #checkLong(CharSequence, long, long)}.
+     *
+     * @param s The input
+     * @return The value
+     */
+    public static long parseLongUnchecked(@Nonnull CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long result = 0;
+        for (; i < length; i++) {
+            result = result * 10 - (s.charAt(i) - '0');
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a decimal number that passed {@link #checkDouble(CharSequence, double, double)}.
+     *
+     * @param s The input
+     * @return The value
+     */
+    public static double parseDoubleUnchecked(@Nonnull CharSequence s) {
+        return Double.parseDouble(s.toString());
+    }
+
+    /**
+     * Check whether the input has the shape of a decimal number, so {@link Double#parseDouble(String)} can not fail.
+     * Unlike {@link Double#parseDouble(String)}, surrounding whitespace, {@code NaN}, {@code Infinity}, hexadecimal and type suffixes are rejected.
+     *
+     * @param s The input
+     * @return True if decimal
+     */
+    public static boolean isDecimal(@Nonnull CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+
+        int digits = 0;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int exponent = 0;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                exponent++;
+            }
+            if (exponent == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
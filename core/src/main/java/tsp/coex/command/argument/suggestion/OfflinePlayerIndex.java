@@ -0,0 +1,309 @@
+package tsp.coex.command.argument.suggestion;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A case-insensitive index of player names to unique ids, so offline players can be resolved without a blocking profile lookup.
+ *
+ * <p>
+ * Entries are stored in an open-addressed table of primitive arrays, names are stored as bytes in a single shared array,
+ * taking around 40 bytes per player. Names are compared ignoring ASCII case, which covers every valid Minecraft name.
+ * A name always maps to the last unique id it was {@link #put(String, UUID) put} with, names of renamed players are kept.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ * @see SuggestionIndexes#OFFLINE_PLAYER_IDS
+ */
+public final class OfflinePlayerIndex {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    // Guarded by this
+    private int[] hashes = new int[1024]; // Hash per slot, 0 if empty
+    private int[] names = new int[1024]; // Offset of the name per slot
+    private long[] msbs = new long[1024];
+    private long[] lsbs = new long[1024];
+    private byte[] bytes = new byte[4096]; // Length prefixed names
+    private int length;
+    private int size;
+
+    @Nullable
+    private volatile Plugin plugin;
+
+    /**
+     * Find the unique id of a player by name, ignoring case. Never blocks on a lookup.
+     *
+     * @param name The name
+     * @return The unique id, if known
+     */
+    @NotNull
+    public Optional<UUID> find(@NotNull String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || key.length > MAX_NAME_LENGTH) {
+            return Optional.empty();
+        }
+
+        int hash = hash(key);
+        synchronized (this) {
+            int slot = slot(key, hash);
+            return hashes[slot] != 0 ? Optional.of(new UUID(msbs[slot], lsbs[slot])) : Optional.empty();
+        }
+    }
+
+    /**
+     * Resolve an offline player by name or unique id. Known players complete immediately,
+     * otherwise the server looks up the profile asynchronously, like {@link Bukkit#getOfflinePlayer(String)} off the calling thread.
+     * Players that have joined the server are added to this index.
+     *
+     * <pre>{@code
+     * SuggestionIndexes.OFFLINE_PLAYER_IDS.resolve(name).thenAccept(player -> ctx.runSync(() -> ...));
+     * }</pre>
+     *
+     * @param name The name or unique id
+     * @return Future completed with the player
+     */
+    @NotNull
+    public CompletableFuture<Optional<OfflinePlayer>> resolve(@NotNull String name) {
+        if (name.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        Optional<OfflinePlayer> known = findPlayer(name);
+        if (known.isPresent()) {
+            return CompletableFuture.completedFuture(known);
+        }
+
+        Plugin plugin = this.plugin;
+        Executor executor = plugin != null ? task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task) : ForkJoinPool.commonPool();
+        return CompletableFuture.supplyAsync(() -> {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+            if (player.getName() != null && (player.hasPlayedBefore() || player.isOnline())) {
+                put(player.getName(), player.getUniqueId());
+            }
+            return Optional.of(player);
+        }, executor);
+    }
+
+    /**
+     * A parser that never blocks on a profile lookup: names that are neither in this index nor in the server's profile cache do not parse.
+     * Use it for commands on the main thread that only target known players, and {@link #resolve(String)} to look up other names asynchronously.
+     * The default {@link OfflinePlayer} parser falls back to a blocking lookup instead.
+     *
+     * <pre>{@code
+     * String name = ctx.rawArg(0).orElseThrow();
+     * OfflinePlayer target = SuggestionIndexes.OFFLINE_PLAYER_IDS.parser().parse(name).orElse(null);
+     * if (target == null) {
+     *     SuggestionIndexes.OFFLINE_PLAYER_IDS.resolve(name).thenAccept(player -> ctx.runSync(() -> ban(player.orElseThrow())));
+     * }
+     * }</pre>
+     *
+     * @return The parser
+     */
+    @NotNull
+    public ArgumentParser<OfflinePlayer> parser() {
+        return ArgumentParser.suggesting(this::findPlayer, SuggestionIndexes.OFFLINE_PLAYERS);
+    }
+
+    /**
+     * Find an offline player by name or unique id, using this index and the server's profile cache. Never blocks on a lookup.
+     *
+     * @param name The name or unique id
+     * @return The player, if known
+     */
+    @NotNull
+    public Optional<OfflinePlayer> findPlayer(@NotNull String name) {
+        if (name.length() == 36) {
+            try {
+                return Optional.of(Bukkit.getOfflinePlayer(UUID.fromString(name)));
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Optional<UUID> id = find(name);
+        if (id.isPresent()) {
+            return Optional.of(Bukkit.getOfflinePlayer(id.get()));
+        }
+        return Optional.ofNullable(Bukkit.getOfflinePlayerIfCached(name));
+    }
+
+    /**
+     * Map a name to a unique id, replacing the previous mapping of the name.
+     *
+     * @param name The name
+     * @param id The unique id
+     */
+    public void put(@NotNull String name, @NotNull UUID id) {
+        put(name, id, true);
+    }
+
+    private void put(String name, UUID id, boolean replace) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || key.length > MAX_NAME_LENGTH) {
+            return;
+        }
+
+        int hash = hash(key);
+        synchronized (this) {
+            int slot = slot(key, hash);
+            if (hashes[slot] != 0) {
+                if (replace) {
+                    // Same length, so the name is rewritten in place to keep the latest case
+                    System.arraycopy(key, 0, bytes, names[slot] + 1, key.length);
+                    msbs[slot] = id.getMostSignificantBits();
+                    lsbs[slot] = id.getLeastSignificantBits();
+                }
+                return;
+            }
+
+            if ((size + 1) * 4 > hashes.length * 3) {
+                grow();
+                slot = slot(key, hash);
+            }
+            if (length + key.length + 1 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + key.length + 1));
+            }
+
+            bytes[length] = (byte) key.length;
+            System.arraycopy(key, 0, bytes, length + 1, key.length);
+            hashes[slot] = hash;
+            names[slot] = length;
+            msbs[slot] = id.getMostSignificantBits();
+            lsbs[slot] = id.getLeastSignificantBits();
+            length += key.length + 1;
+            size++;
+        }
+    }
+
+    /**
+     * Load the names of the server's user cache, typically {@code usercache.json} in the {@link Bukkit#getWorldContainer() world container}.
+     * Names already in this index are kept, as they are at least as recent.
+     *
+     * @param file The user cache file
+     * @return The amount of entries read
+     * @throws IOException If the file can not be read
+     */
+    public int load(@NotNull Path file) throws IOException {
+        int count = 0;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8); JsonReader json = new JsonReader(reader)) {
+            json.beginArray();
+            while (json.hasNext()) {
+                String name = null;
+                String id = null;
+                json.beginObject();
+                while (json.hasNext()) {
+                    String field = json.nextName();
+                    if (field.equals("name") && json.peek() == JsonToken.STRING) {
+                        name = json.nextString();
+                    } else if (field.equals("uuid") && json.peek() == JsonToken.STRING) {
+                        id = json.nextString();
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+
+                if (name != null && id != null) {
+                    try {
+                        put(name, UUID.fromString(id), false);
+                        count++;
+                    } catch (IllegalArgumentException ignored) {}
+                }
+            }
+            json.endArray();
+        }
+        return count;
+    }
+
+    /**
+     * The amount of known names.
+     *
+     * @return Name count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    void setPlugin(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    // Slot of the key, or the empty slot it would be placed in
+    private int slot(byte[] key, int hash) {
+        int mask = hashes.length - 1;
+        int i = hash & mask;
+        while (hashes[i] != 0 && (hashes[i] != hash || !matches(names[i], key))) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private boolean matches(int offset, byte[] key) {
+        if ((bytes[offset] & 0xFF) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (lower(bytes[offset + 1 + i]) != lower(key[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        int[] oldHashes = hashes;
+        int[] oldNames = names;
+        long[] oldMsbs = msbs;
+        long[] oldLsbs = lsbs;
+
+        int capacity = oldHashes.length * 2;
+        hashes = new int[capacity];
+        names = new int[capacity];
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (hashes[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                names[slot] = oldNames[i];
+                msbs[slot] = oldMsbs[i];
+                lsbs[slot] = oldLsbs[i];
+            }
+        }
+    }
+
+    private static int hash(byte[] key) {
+        int hash = 1;
+        for (byte b : key) {
+            hash = 31 * hash + lower(b);
+        }
+        hash ^= hash >>> 16;
+        return hash != 0 ? hash : 1; // 0 marks empty slots
+    }
+
+    private static int lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+}
@@ -0,0 +1,175 @@
+package tsp.coex.command.argument.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * A case-insensitive prefix index of names, backed by a sorted array.
+ * Lookups are a binary search for the first match followed by a scan over the matches, O(log n + results).
+ *
+ * <p>
+ * Reads are lock-free on an immutable snapshot, mutations copy the snapshot.
+ * Intended for sets that are read far more often than they change, such as online players or worlds.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class SuggestionIndex {
+
+    /**
+     * The maximum amount of names suggested by the built-in parsers, so an empty prefix does not send every known name to the client.
+     */
+    public static final int SUGGESTION_LIMIT = 100;
+
+    private static final Snapshot EMPTY = new Snapshot(new String[0], new String[0]);
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    /**
+     * Find all names starting with a prefix, ignoring case.
+     * Use {@link #find(String, int)} for completions, as this may return every indexed name.
+     *
+     * @param prefix The prefix
+     * @return Unmodifiable list of names, in case-insensitive order
+     */
+    @NotNull
+    public List<String> find(@NotNull String prefix) {
+        return find(prefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find names starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum amount of names
+     * @return Unmodifiable list of names, in case-insensitive order
+     */
+    @NotNull
+    public List<String> find(@NotNull String prefix, int limit) {
+        Snapshot snapshot = this.snapshot;
+        String key = prefix.toLowerCase(Locale.ROOT);
+
+        int from = lowerBound(snapshot.keys, key);
+        int to = from;
+        while (to < snapshot.keys.length && to - from < limit && snapshot.keys[to].startsWith(key)) {
+            to++;
+        }
+
+        if (from == to) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(snapshot.names, from, to)));
+    }
+
+    /**
+     * Check whether a name is indexed, ignoring case.
+     *
+     * @param name The name
+     * @return True if indexed
+     */
+    public boolean contains(@NotNull String name) {
+        return Arrays.binarySearch(snapshot.keys, name.toLowerCase(Locale.ROOT)) >= 0;
+    }
+
+    /**
+     * The amount of indexed names.
+     *
+     * @return The size
+     */
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    /**
+     * Add a name, replacing a name differing only in case.
+     *
+     * @param name The name
+     */
+    public synchronized void add(@NotNull String name) {
+        Snapshot snapshot = this.snapshot;
+        String key = name.toLowerCase(Locale.ROOT);
+        int index = Arrays.binarySearch(snapshot.keys, key);
+        if (index >= 0) {
+            if (!snapshot.names[index].equals(name)) {
+                String[] names = snapshot.names.clone();
+                names[index] = name;
+                this.snapshot = new Snapshot(snapshot.keys, names);
+            }
+            return;
+        }
+
+        int insert = -(index + 1);
+        this.snapshot = new Snapshot(insert(snapshot.keys, insert, key), insert(snapshot.names, insert, name));
+    }
+
+    /**
+     * Remove a name, ignoring case.
+     *
+     * @param name The name
+     */
+    public synchronized void remove(@NotNull String name) {
+        Snapshot snapshot = this.snapshot;
+        int index = Arrays.binarySearch(snapshot.keys, name.toLowerCase(Locale.ROOT));
+        if (index >= 0) {
+            this.snapshot = new Snapshot(remove(snapshot.keys, index), remove(snapshot.names, index));
+        }
+    }
+
+    /**
+     * Replace all indexed names.
+     *
+     * @param names The names
+     */
+    public synchronized void replaceAll(@NotNull Collection<String> names) {
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (String name : names) {
+            sorted.put(name.toLowerCase(Locale.ROOT), name);
+        }
+        this.snapshot = new Snapshot(sorted.keySet().toArray(new String[0]), sorted.values().toArray(new String[0]));
+    }
+
+    /**
+     * Remove all names.
+     */
+    public synchronized void clear() {
+        this.snapshot = EMPTY;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String[] insert(String[] array, int index, String value) {
+        String[] result = new String[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static String[] remove(String[] array, int index) {
+        String[] result = new String[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private record Snapshot(String[] keys, String[] names) {}
+
+}
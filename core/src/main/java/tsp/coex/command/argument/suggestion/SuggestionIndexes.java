@@ -0,0 +1,134 @@
+package tsp.coex.command.argument.suggestion;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * The shared {@link SuggestionIndex indexes} used by the built-in {@link Player}, {@link OfflinePlayer} and {@link World} parsers.
+ * Indexes are empty until {@link #enable(Plugin)} is called, after which they are kept up to date from join/quit and world load/unload events.
+ * Offline player ids are additionally loaded from the server's {@code usercache.json}, kept in the {@link Bukkit#getWorldContainer() world container}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class SuggestionIndexes implements Listener {
+
+    /**
+     * Names of online players.
+     */
+    public static final SuggestionIndex PLAYERS = new SuggestionIndex();
+
+    /**
+     * Names of every player that has joined the server.
+     */
+    public static final SuggestionIndex OFFLINE_PLAYERS = new SuggestionIndex();
+
+    /**
+     * Unique ids of every player known to the server, in its user cache or that joined since, by name.
+     */
+    public static final OfflinePlayerIndex OFFLINE_PLAYER_IDS = new OfflinePlayerIndex();
+
+    /**
+     * Names of loaded worlds.
+     */
+    public static final SuggestionIndex WORLDS = new SuggestionIndex();
+
+    private static final AtomicBoolean ENABLED = new AtomicBoolean();
+
+    private SuggestionIndexes() {}
+
+    /**
+     * Populate the indexes and keep them up to date.
+     * Only the first call has an effect.
+     *
+     * @param plugin Plugin instance used to register the listener
+     */
+    public static void enable(@NotNull Plugin plugin) {
+        if (!ENABLED.compareAndSet(false, true)) {
+            return;
+        }
+
+        // Every player with saved data, so known names resolve without a profile lookup
+        List<String> offlinePlayers = new ArrayList<>();
+        for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+            String name = player.getName();
+            if (name != null) {
+                offlinePlayers.add(name);
+                OFFLINE_PLAYER_IDS.put(name, player.getUniqueId());
+            }
+        }
+
+        // Online players last, their names are the most recent
+        List<String> players = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            players.add(player.getName());
+            OFFLINE_PLAYER_IDS.put(player.getName(), player.getUniqueId());
+        }
+        PLAYERS.replaceAll(players);
+
+        offlinePlayers.addAll(players);
+        OFFLINE_PLAYERS.replaceAll(offlinePlayers);
+
+        List<String> worlds = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            worlds.add(world.getName());
+        }
+        WORLDS.replaceAll(worlds);
+
+        // The user cache can hold many thousands of players, so it is read off the main thread
+        OFFLINE_PLAYER_IDS.setPlugin(plugin);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Path file = Bukkit.getWorldContainer().toPath().resolve("usercache.json");
+            if (Files.isRegularFile(file)) {
+                try {
+                    OFFLINE_PLAYER_IDS.load(file);
+                } catch (IOException | RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to load player names from " + file, ex);
+                }
+            }
+        });
+
+        plugin.getServer().getPluginManager().registerEvents(new SuggestionIndexes(), plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        PLAYERS.add(event.getPlayer().getName());
+        OFFLINE_PLAYERS.add(event.getPlayer().getName());
+        OFFLINE_PLAYER_IDS.put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        PLAYERS.remove(event.getPlayer().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        WORLDS.add(event.getWorld().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WORLDS.remove(event.getWorld().getName());
+    }
+
+}
@@ -0,0 +1,169 @@
+package tsp.coex.command.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.result.FailureReason;
+import tsp.coex.metrics.Outcome;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The aggregated result of a {@link CommandBatch}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class BatchResult {
+
+    private final int total;
+    private final List<Failure> failures;
+    private final int ticks;
+    private final Duration elapsed;
+
+    BatchResult(int total, List<Failure> failures, int ticks, Duration elapsed) {
+        this.total = total;
+        this.failures = List.copyOf(failures);
+        this.ticks = ticks;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * The amount of invocations in the batch.
+     *
+     * @return Invocation count
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * The amount of invocations that completed successfully.
+     *
+     * @return Success count
+     */
+    public int succeeded() {
+        return total - failures.size();
+    }
+
+    /**
+     * The amount of invocations that did not complete successfully.
+     *
+     * @return Failure count
+     */
+    public int failed() {
+        return failures.size();
+    }
+
+    /**
+     * The invocations that did not complete successfully, in batch order.
+     *
+     * @return Unmodifiable list of failures
+     */
+    @NotNull
+    public List<Failure> failures() {
+        return failures;
+    }
+
+    /**
+     * The amount of ticks the batch was spread over.
+     *
+     * @return Tick count
+     */
+    public int ticks() {
+        return ticks;
+    }
+
+    /**
+     * The wall time from the first invocation until the batch completed.
+     *
+     * @return Elapsed time
+     */
+    @NotNull
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{total=" + total + ", failed=" + failures.size() + ", ticks=" + ticks + ", elapsed=" + elapsed + "}";
+    }
+
+    /**
+     * A single failed invocation.
+     */
+    public static final class Failure {
+
+        private final int index;
+        private final String[] args;
+        private final Outcome outcome;
+        @Nullable
+        private final FailureReason reason;
+        @Nullable
+        private final Throwable error;
+
+        Failure(int index, String[] args, Outcome outcome, @Nullable FailureReason reason, @Nullable Throwable error) {
+            this.index = index;
+            this.args = args;
+            this.outcome = outcome;
+            this.reason = reason;
+            this.error = error;
+        }
+
+        /**
+         * The position of the invocation in the batch.
+         *
+         * @return The index
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * The arguments of the invocation.
+         *
+         * @return Copy of the arguments
+         */
+        @NotNull
+        public String[] args() {
+            return args.clone();
+        }
+
+        /**
+         * Why the invocation failed.
+         *
+         * @return The outcome
+         */
+        @NotNull
+        public Outcome outcome() {
+            return outcome;
+        }
+
+        /**
+         * Why the handler failed, for {@link Outcome#INTERRUPTED interrupted} invocations.
+         *
+         * @return The reason, if any
+         */
+        @NotNull
+        public Optional<FailureReason> reason() {
+            return Optional.ofNullable(reason);
+        }
+
+        /**
+         * The exception thrown by the handler, for {@link Outcome#FAILED failed} invocations.
+         *
+         * @return The exception, if any
+         */
+        @NotNull
+        public Optional<Throwable> error() {
+            return Optional.ofNullable(error);
+        }
+
+        @Override
+        public String toString() {
+            return "Failure{index=" + index + ", args=" + String.join(" ", args) + ", outcome=" + outcome + "}";
+        }
+
+    }
+
+}
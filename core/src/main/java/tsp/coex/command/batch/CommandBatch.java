@@ -0,0 +1,314 @@
+package tsp.coex.command.batch;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.AbstractCommand;
+import tsp.coex.command.context.CommandContextImpl;
+import tsp.coex.command.context.TokenizedInput;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.permission.PermissionCache;
+import tsp.coex.command.result.CommandResult;
+import tsp.coex.command.result.FailureReason;
+import tsp.coex.command.usage.UsageSchema;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.MetricsSink;
+import tsp.coex.metrics.Outcome;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Executes many invocations of a single command for one sender, e.g. for bulk edits issued by admin tooling.
+ *
+ * <pre>{@code
+ * CommandBatch.of(giveCommand, Bukkit.getConsoleSender())
+ *         .add("Notch", "diamond", "64")
+ *         .add("jeb_", "diamond", "64")
+ *         .run(plugin)
+ *         .thenAccept(result -> plugin.getLogger().info(result.succeeded() + "/" + result.total() + " succeeded"));
+ * }</pre>
+ *
+ * <p>
+ * Permission is checked once for the whole batch. Each invocation is still validated against the usage format,
+ * failures are collected in the {@link BatchResult}. Replies, including failure messages, are discarded
+ * rather than sent to the sender, unless {@link #replies(Consumer) routed} elsewhere. Cooldowns do not apply.
+ * Invocations run on the main thread, spread over as many ticks as needed to stay within the {@link #budget(Duration) per tick budget}.
+ * Synchronous handlers share one recycled context, so they must not keep a reference to it after returning.
+ * Asynchronous commands get a context per invocation, their handlers run on the command's executor as usual.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CommandBatch {
+
+    /**
+     * The default time spent executing per tick.
+     */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(5);
+
+    private final AbstractCommand command;
+    private final CommandSender sender;
+    private final List<String[]> invocations = new ArrayList<>();
+    private long budget = DEFAULT_BUDGET.toNanos();
+    @Nullable
+    private Consumer<Component> replies = message -> {};
+    private boolean started;
+
+    private CommandBatch(AbstractCommand command, CommandSender sender) {
+        this.command = command;
+        this.sender = sender;
+    }
+
+    /**
+     * Create a batch.
+     *
+     * @param command The command to execute
+     * @param sender The sender executing every invocation
+     * @return The batch
+     */
+    @NotNull
+    public static CommandBatch of(@NotNull AbstractCommand command, @NotNull CommandSender sender) {
+        return new CommandBatch(command, sender);
+    }
+
+    /**
+     * Add an invocation.
+     *
+     * @param args The arguments, as split by the server
+     * @return This batch
+     */
+    @NotNull
+    public CommandBatch add(@NotNull String... args) {
+        checkNotStarted();
+        invocations.add(args);
+        return this;
+    }
+
+    /**
+     * Add invocations.
+     *
+     * @param args The arguments per invocation, as split by the server
+     * @return This batch
+     */
+    @NotNull
+    public CommandBatch addAll(@NotNull Collection<String[]> args) {
+        checkNotStarted();
+        invocations.addAll(args);
+        return this;
+    }
+
+    /**
+     * Set the time spent executing per tick. At least one invocation runs per tick.
+     *
+     * @param budget The budget per tick
+     * @return This batch
+     */
+    @NotNull
+    public CommandBatch budget(@NotNull Duration budget) {
+        checkNotStarted();
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Budget must be positive!");
+        }
+        this.budget = budget.toNanos();
+        return this;
+    }
+
+    /**
+     * Set where replies of the invocations go, e.g. a logger. Replies are discarded by default.
+     *
+     * @param replies Consumer of replies, or {@code null} to message the sender
+     * @return This batch
+     */
+    @NotNull
+    public CommandBatch replies(@Nullable Consumer<Component> replies) {
+        checkNotStarted();
+        this.replies = replies;
+        return this;
+    }
+
+    /**
+     * The amount of invocations.
+     *
+     * @return Invocation count
+     */
+    public int size() {
+        return invocations.size();
+    }
+
+    /**
+     * Start executing, beginning on the next tick. A batch can only run once.
+     *
+     * @param plugin The plugin scheduling the batch
+     * @return Future completed once every invocation, including asynchronous handlers, has finished
+     */
+    @NotNull
+    public CompletableFuture<BatchResult> run(@NotNull Plugin plugin) {
+        checkNotStarted();
+        started = true;
+
+        String[][] args = invocations.toArray(new String[0][]);
+        CompletableFuture<BatchResult> future = new CompletableFuture<>();
+
+        // Validate the sender has permission, once for every invocation
+        String permission = command.getPermission().orElse(null);
+        if (permission != null && !PermissionCache.hasPermission(sender, permission)) {
+            command.getPermissionMessage().ifPresent(sender::sendMessage);
+            List<BatchResult.Failure> failures = new ArrayList<>(args.length);
+            for (int i = 0; i < args.length; i++) {
+                failures.add(new BatchResult.Failure(i, args[i], Outcome.PERMISSION_DENIED, null, null));
+            }
+            future.complete(new BatchResult(args.length, failures, 0, Duration.ZERO));
+            return future;
+        }
+
+        if (args.length == 0) {
+            future.complete(new BatchResult(0, List.of(), 0, Duration.ZERO));
+            return future;
+        }
+
+        Runner runner = new Runner(args, future);
+        runner.task = Bukkit.getScheduler().runTaskTimer(plugin, runner, 0L, 1L);
+        return future;
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("Batch has already been started!");
+        }
+    }
+
+    private final class Runner implements Runnable {
+
+        private final String[][] args;
+        private final CompletableFuture<BatchResult> future;
+        private final Outcome[] outcomes;
+        private final FailureReason[] reasons;
+        private final Throwable[] errors;
+        private final List<CompletableFuture<?>> pending = new ArrayList<>();
+        @Nullable
+        private final UsageSchema schema = command.getUsageSchema().orElse(null);
+        @Nullable
+        private final FlagSet flags = command.getFlags().orElse(null);
+        @Nullable
+        private CommandContextImpl<CommandSender> context;
+        private BukkitTask task;
+        private int next;
+        private int ticks;
+        private long started;
+
+        private Runner(String[][] args, CompletableFuture<BatchResult> future) {
+            this.args = args;
+            this.future = future;
+            this.outcomes = new Outcome[args.length];
+            this.reasons = new FailureReason[args.length];
+            this.errors = new Throwable[args.length];
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            if (ticks++ == 0) {
+                started = now;
+            }
+
+            long deadline = now + budget;
+            do {
+                execute(next++);
+            } while (next < args.length && System.nanoTime() - deadline < 0);
+
+            if (next == args.length) {
+                task.cancel();
+                if (pending.isEmpty()) {
+                    complete();
+                } else {
+                    CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).whenComplete((result, ex) -> complete());
+                }
+            }
+        }
+
+        private void execute(int index) {
+            String[] args = this.args[index];
+            MetricsSink metrics = CommandMetrics.sink();
+            long start = CommandMetrics.start(metrics);
+
+            // Validate usage format
+            TokenizedInput tokens = schema != null && schema.isTokenized() ? TokenizedInput.tokenize(args, schema, CommandContextImpl.OPTION_PREFIX, flags) : null;
+            if (schema != null && !schema.matches(tokens != null ? tokens.size() + tokens.options() : args.length)) {
+                outcome(index, Outcome.USAGE_MISMATCH, null, null, metrics, start);
+                return;
+            }
+
+            Executor executor = command.getExecutor().orElse(null);
+            CommandContextImpl<CommandSender> ctx;
+            if (executor == null) {
+                ctx = context != null ? context.recycle(args, tokens) : new CommandContextImpl<>(sender, args, command, tokens).replyTo(replies);
+                context = ctx;
+            } else {
+                ctx = new CommandContextImpl<>(sender, args, command, tokens).replyTo(replies);
+            }
+
+            CommandResult prepared;
+            try {
+                prepared = CommandResult.capture(ctx, () -> {
+                    command.prepare(ctx);
+                    return executor == null ? command.invoke(ctx) : CommandResult.success();
+                });
+            } catch (RuntimeException ex) {
+                outcome(index, Outcome.FAILED, null, ex, metrics, start);
+                return;
+            }
+            if (executor == null || !prepared.isSuccess()) {
+                complete(index, ctx, prepared, metrics, start);
+                return;
+            }
+
+            pending.add(CompletableFuture.supplyAsync(() -> CommandResult.capture(ctx, () -> command.invoke(ctx)), executor).handle((result, ex) -> {
+                if (ex == null) {
+                    complete(index, ctx, result, metrics, start);
+                } else {
+                    outcome(index, Outcome.FAILED, null, ex instanceof CompletionException ? ex.getCause() : ex, metrics, start);
+                }
+                return null;
+            }));
+        }
+
+        private void complete(int index, CommandContextImpl<CommandSender> ctx, CommandResult result, MetricsSink metrics, long start) {
+            if (result instanceof CommandResult.Failure failure) {
+                outcome(index, Outcome.INTERRUPTED, failure.reason(), null, metrics, start);
+                command.onAssertionFailure(ctx, failure.reason());
+            } else {
+                outcome(index, Outcome.SUCCESS, null, null, metrics, start);
+            }
+        }
+
+        private void outcome(int index, Outcome outcome, @Nullable FailureReason reason, @Nullable Throwable error, MetricsSink metrics, long start) {
+            outcomes[index] = outcome;
+            reasons[index] = reason;
+            errors[index] = error;
+            if (start != 0) metrics.command(command.getName(), outcome, CommandMetrics.elapsed(start));
+        }
+
+        private void complete() {
+            List<BatchResult.Failure> failures = new ArrayList<>();
+            for (int i = 0; i < args.length; i++) {
+                if (outcomes[i] != Outcome.SUCCESS) {
+                    failures.add(new BatchResult.Failure(i, args[i], outcomes[i], reasons[i], errors[i]));
+                }
+            }
+            future.complete(new BatchResult(args.length, failures, ticks, Duration.ofNanos(System.nanoTime() - started)));
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package tsp.coex.command.completion;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.command.AbstractCommand;
+import tsp.coex.command.Command;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completes registered commands from Paper's {@link AsyncTabCompleteEvent}, off the main thread, using completions cached by the {@link CompletionEngine}.
+ * {@link Command#onTab} and parser suggestions use the Bukkit API, so they are never called here: on a cache miss the event is left unhandled,
+ * and the server completes the command on the main thread, which fills the cache when the command uses the same engine.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class AsyncCompletionListener implements Listener {
+
+    private final CompletionEngine engine;
+    private final Map<String, Command> commands = new ConcurrentHashMap<>();
+
+    public AsyncCompletionListener(@NotNull CompletionEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Complete a command asynchronously.
+     * An {@link AbstractCommand} is set to use the engine of this listener, other commands must use it on the main thread themselves.
+     *
+     * @param command The command
+     * @param aliases Additional labels of the command
+     * @return This listener
+     */
+    public AsyncCompletionListener register(@NotNull Command command, @NotNull String... aliases) {
+        if (command instanceof AbstractCommand abstractCommand) {
+            abstractCommand.setCompletionEngine(engine);
+        }
+        commands.put(command.getName().toLowerCase(Locale.ROOT), command);
+        for (String alias : aliases) {
+            commands.put(alias.toLowerCase(Locale.ROOT), command);
+        }
+        return this;
+    }
+
+    /**
+     * Register this listener.
+     *
+     * @param plugin Plugin instance
+     * @return This listener
+     */
+    public AsyncCompletionListener listen(@NotNull Plugin plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        return this;
+    }
+
+    @NotNull
+    public CompletionEngine getEngine() {
+        return engine;
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) {
+            return;
+        }
+
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int space = buffer.indexOf(' ', start);
+        if (space < 0) {
+            return; // Still typing the label
+        }
+
+        // Strip namespace, e.g. "/plugin:command"
+        int colon = buffer.lastIndexOf(':', space);
+        String label = buffer.substring(colon >= start ? colon + 1 : start, space).toLowerCase(Locale.ROOT);
+        Command command = commands.get(label);
+        if (command == null) {
+            return;
+        }
+
+        List<String> completions = Completions.completeCached(event.getSender(), command, buffer.substring(space + 1).split(" ", -1), engine);
+        if (completions != null) {
+            event.setCompletions(completions);
+            event.setHandled(true);
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package tsp.coex.command.completion;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.Command;
+import tsp.coex.command.context.CommandContextImpl;
+import tsp.coex.command.permission.PermissionCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches tab completions per sender, command and argument.
+ *
+ * <p>
+ * For every (sender, command, preceding arguments) the last computed candidates are kept together with the prefix they were computed for.
+ * If the candidates are {@link Completions#exhaustive(List) exhaustive}, they are narrowed to the longer prefix while the player keeps typing the same argument,
+ * instead of calling {@link Command#onTab} again. Other candidates may be capped or depend on the prefix, so they are only reused for the same prefix.
+ * Entries expire after the configured time-to-live.
+ * </p>
+ *
+ * <p>
+ * Candidates are filtered by the current (case-insensitive) prefix, so {@link Command#onTab} may return unfiltered candidates.
+ * Safe for concurrent use. {@link AsyncCompletionListener} only reads the cache, so {@link Command#onTab} always runs on the main thread.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CompletionEngine {
+
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final long ttl;
+    private final int maxEntries;
+
+    public CompletionEngine(@NotNull Duration ttl, int maxEntries) {
+        this.ttl = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public CompletionEngine() {
+        this(Duration.ofSeconds(5), 4096);
+    }
+
+    /**
+     * Complete the last argument.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The arguments, the last one being the argument to complete
+     * @return The completions, or {@code null} for the server default (player names)
+     */
+    @Nullable
+    public List<String> complete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String[] args) {
+        if (command.getPermission().isPresent() && !PermissionCache.hasPermission(sender, command.getPermission().get())) {
+            return List.of();
+        }
+
+        String token = args.length == 0 ? "" : args[args.length - 1];
+        Key key = new Key(sender instanceof Entity entity ? entity.getUniqueId() : sender, command.getName(), preceding(args));
+        long now = System.nanoTime();
+
+        List<String> cached = lookup(key, token, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<String> candidates = command.onTab(new CommandContextImpl<>(sender, args, command));
+        if (candidates == null) {
+            cache.remove(key);
+            return null;
+        }
+
+        Entry computed = new Entry(token, filter(candidates, token), Completions.isExhaustive(candidates), now + ttl);
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(key, computed);
+        return computed.candidates;
+    }
+
+    /**
+     * Complete the last argument from the cache only, never calling {@link Command#onTab}.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The arguments, the last one being the argument to complete
+     * @return The completions, or {@code null} if they are not cached
+     */
+    @Nullable
+    public List<String> cached(@NotNull CommandSender sender, @NotNull Command command, @NotNull String[] args) {
+        if (command.getPermission().isPresent() && !PermissionCache.hasPermission(sender, command.getPermission().get())) {
+            return List.of();
+        }
+
+        String token = args.length == 0 ? "" : args[args.length - 1];
+        return lookup(new Key(sender instanceof Entity entity ? entity.getUniqueId() : sender, command.getName(), preceding(args)), token, System.nanoTime());
+    }
+
+    @Nullable
+    private List<String> lookup(Key key, String token, long now) {
+        Entry entry = cache.get(key);
+        if (entry == null || entry.expiresAt - now <= 0 || !startsWithIgnoreCase(token, entry.prefix)) {
+            return null;
+        }
+        if (entry.prefix.length() == token.length()) {
+            return entry.candidates;
+        }
+        if (!entry.exhaustive) {
+            return null;
+        }
+
+        // Still typing the same argument, narrow the previous candidates
+        Entry narrowed = new Entry(token, filter(entry.candidates, token), true, entry.expiresAt);
+        cache.put(key, narrowed);
+        return narrowed.candidates;
+    }
+
+    /**
+     * Invalidate all cached completions of a sender.
+     *
+     * @param sender The sender
+     */
+    public void invalidate(@NotNull CommandSender sender) {
+        Object id = sender instanceof Entity entity ? entity.getUniqueId() : sender;
+        cache.keySet().removeIf(key -> key.sender.equals(id));
+    }
+
+    /**
+     * Invalidate all cached completions.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private void evict(long now) {
+        cache.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+    }
+
+    private static String preceding(String[] args) {
+        if (args.length <= 1) {
+            return "";
+        }
+        return String.join(" ", Arrays.asList(args).subList(0, args.length - 1));
+    }
+
+    private static List<String> filter(List<String> candidates, String prefix) {
+        if (prefix.isEmpty()) {
+            return List.copyOf(candidates);
+        }
+
+        List<String> result = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (startsWithIgnoreCase(candidate, prefix)) {
+                result.add(candidate);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static boolean startsWithIgnoreCase(String s, String prefix) {
+        return s.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private record Key(Object sender, String command, String preceding) {}
+
+    private record Entry(String prefix, List<String> candidates, boolean exhaustive, long expiresAt) {}
+
+}
@@ -0,0 +1,135 @@
+package tsp.coex.command.completion;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.Command;
+import tsp.coex.command.context.CommandContextImpl;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.MetricsSink;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Tab completion shared by {@link tsp.coex.command.AbstractCommand#onTabComplete} and {@link AsyncCompletionListener},
+ * so both complete declared {@code --flag} names and report {@link MetricsSink#tabComplete(String, long) metrics} alike.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class Completions {
+
+    private Completions() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Complete the last argument of a command.
+     * Declared flag names are completed for arguments starting with {@code --},
+     * other arguments are completed by the engine if present, otherwise by {@link Command#onTab}.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The arguments, the last one being the argument to complete
+     * @param engine The engine caching completions, or {@code null} to call {@link Command#onTab} directly
+     * @return The completions, or {@code null} for the server default (player names)
+     */
+    @Nullable
+    public static List<String> complete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String[] args, @Nullable CompletionEngine engine) {
+        return complete(sender, command, args, engine, false);
+    }
+
+    /**
+     * Complete the last argument of a command without calling {@link Command#onTab}, so it is safe off the main thread.
+     * Declared flag names are completed for arguments starting with {@code --}, other arguments only from the engine's cache.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The arguments, the last one being the argument to complete
+     * @param engine The engine caching completions
+     * @return The completions, or {@code null} if they are not cached
+     */
+    @Nullable
+    public static List<String> completeCached(@NotNull CommandSender sender, @NotNull Command command, @NotNull String[] args, @NotNull CompletionEngine engine) {
+        return complete(sender, command, args, engine, true);
+    }
+
+    private static List<String> complete(CommandSender sender, Command command, String[] args, @Nullable CompletionEngine engine, boolean cachedOnly) {
+        MetricsSink metrics = CommandMetrics.sink();
+        long start = CommandMetrics.start(metrics);
+
+        List<String> completions;
+        FlagSet flags = command.getFlags().orElse(null);
+        if (flags != null && args.length > 0 && args[args.length - 1].startsWith("--")) {
+            completions = flagNames(flags, args[args.length - 1]);
+        } else if (cachedOnly) {
+            completions = engine.cached(sender, command, args);
+            if (completions == null) {
+                return null; // Completed again on the main thread, which records the metrics
+            }
+        } else {
+            completions = engine != null ? engine.complete(sender, command, args) : command.onTab(new CommandContextImpl<>(sender, args, command));
+        }
+
+        if (start != 0) metrics.tabComplete(command.getName(), CommandMetrics.elapsed(start));
+        return completions;
+    }
+
+    /**
+     * Mark candidates as exhaustive: every candidate for the prefix they were computed for, not capped and not depending on more than the prefix.
+     * The {@link CompletionEngine} narrows exhaustive candidates while the sender keeps typing, instead of completing again.
+     * The list is not copied, so it must not be modified afterwards.
+     *
+     * @param candidates The candidates
+     * @return The marked candidates
+     */
+    @NotNull
+    public static List<String> exhaustive(@NotNull List<String> candidates) {
+        return candidates instanceof Exhaustive ? candidates : new Exhaustive(candidates);
+    }
+
+    /**
+     * Whether candidates are {@link #exhaustive(List) exhaustive}.
+     *
+     * @param candidates The candidates
+     * @return True if exhaustive
+     */
+    public static boolean isExhaustive(@Nullable List<String> candidates) {
+        return candidates instanceof Exhaustive;
+    }
+
+    private static List<String> flagNames(FlagSet flags, String prefix) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < flags.size(); i++) {
+            String flag = "--" + flags.flag(i).name();
+            if (flag.startsWith(prefix)) {
+                names.add(flag);
+            }
+        }
+        return names;
+    }
+
+    private static final class Exhaustive extends AbstractList<String> implements RandomAccess {
+
+        private final List<String> candidates;
+
+        private Exhaustive(List<String> candidates) {
+            this.candidates = candidates;
+        }
+
+        @Override
+        public String get(int index) {
+            return candidates.get(index);
+        }
+
+        @Override
+        public int size() {
+            return candidates.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,480 @@
+package tsp.coex.command.context;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.CommandInterruptException;
+import tsp.coex.command.Command;
+import tsp.coex.command.argument.Argument;
+import tsp.coex.command.flag.Flag;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.message.MessageTemplate;
+import tsp.coex.command.result.FailureReason;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author TheSilentPro (Silent)
+ */
+@SuppressWarnings({"unchecked", "OptionalIsPresent"})
+public interface CommandContext<T extends CommandSender> {
+
+    /**
+     * The sender of the command.
+     *
+     * @return The sender
+     */
+    T sender();
+
+    /**
+     * The command this context represents.
+     *
+     * @return The command
+     */
+    Command command();
+
+    /**
+     * The label the sender used to execute the command, which may be an alias.
+     *
+     * @return The label, or the command name if it is not known
+     */
+    default String label() {
+        return command().getName();
+    }
+
+    /**
+     * Get an array of raw(string) argument values.
+     *
+     * @return The arguments
+     */
+    List<String> rawArgs();
+
+    /**
+     * Get a single raw(string) argument value.
+     *
+     * @param index The position of the argument
+     * @return The argument
+     */
+    Optional<String> rawArg(int index);
+
+    /**
+     * Get a single argument.
+     *
+     * @param index The position of the argument
+     * @return The argument
+     */
+    Argument arg(int index);
+
+    /**
+     * Get an optional argument.
+     *
+     * @param index The position of the argument
+     * @return The argument, if present
+     */
+    Optional<Argument> argOpt(int index);
+
+    /**
+     * Get an array of arguments.
+     *
+     * @return The array of arguments
+     */
+    Argument[] args();
+
+    /**
+     * The prefix used for options.
+     * Options are filtered out of the command and can be retrieved via {@link #options()}.
+     * Arguments that look like negative numbers are never options, and a doubled prefix ({@code --}) ends option parsing.
+     *
+     * @return The prefix
+     * @see #options()
+     * @see FlagSet
+     */
+    String optionPrefix();
+
+    /**
+     * Gets the set of options for this context.
+     * Contains the names of present {@link FlagSet declared} flags and any undeclared options.
+     *
+     * @return Options set
+     */
+    Set<String> options();
+
+    /**
+     * Check whether a declared flag is present.
+     *
+     * @param flag The flag, declared by the {@link Command#getFlags() command's flags}
+     * @return True if present
+     * @throws IllegalArgumentException If the flag is not declared by the command
+     */
+    boolean hasFlag(@NotNull Flag<?> flag) throws IllegalArgumentException;
+
+    /**
+     * Check whether a flag or undeclared option is present.
+     *
+     * @param name The long name, or single character short name, of the flag
+     * @return True if present
+     */
+    boolean hasFlag(@NotNull String name);
+
+    /**
+     * Parse the value of a declared flag using its parser. The result is cached.
+     *
+     * @param flag The flag, declared by the {@link Command#getFlags() command's flags}
+     * @return The parsed value, if present and valid
+     * @param <U> The type of value
+     * @throws IllegalArgumentException If the flag is not declared by the command
+     */
+    <U> Optional<U> flag(@NotNull Flag<U> flag) throws IllegalArgumentException;
+
+    /**
+     * Reply to the comman sender with a message.
+     * Safe to call from asynchronous handlers, the message is sent on the main thread.
+     *
+     * @param message The message
+     * @return Context
+     */
+    CommandContext<T> reply(@NotNull Component message);
+
+    /**
+     * Reply to the command sender with a rendered template.
+     *
+     * @param template The template
+     * @param values The value per placeholder, in declaration order
+     * @return Context
+     * @see MessageTemplate#render(Object...)
+     */
+    default CommandContext<T> reply(@NotNull MessageTemplate template, @NotNull Object... values) {
+        return reply(template.render(values));
+    }
+
+    /**
+     * Run a task on the server main thread, e.g. to use the Bukkit API from an asynchronous handler.
+     * Runs immediately if already on the main thread.
+     * An exception thrown by the task completes the future exceptionally, on either thread.
+     *
+     * @param task The task
+     * @return Future completed once the task has run
+     */
+    CompletableFuture<Void> runSync(@NotNull Runnable task);
+
+    /**
+     * Compute a value on the server main thread, e.g. to use the Bukkit API from an asynchronous handler.
+     * Runs immediately if already on the main thread.
+     * An exception thrown by the task completes the future exceptionally, on either thread.
+     *
+     * @param task The task
+     * @return Future completed with the value
+     * @param <R> The type of value
+     */
+    <R> CompletableFuture<R> callSync(@NotNull Supplier<R> task);
+
+    /**
+     * Stop the command with a reason. The message of the reason, if any, is sent to the sender.
+     * The reason is recorded on this context and a shared stackless {@link CommandInterruptException} is thrown.
+     *
+     * <pre>{@code
+     * throw ctx.fail(FailureReason.assertion(message));
+     * }</pre>
+     *
+     * @param reason The reason
+     * @return Never returns normally, declared so callers can {@code throw} it
+     * @throws CommandInterruptException Always
+     */
+    CommandInterruptException fail(@NotNull FailureReason reason) throws CommandInterruptException;
+
+    /**
+     * The reason this context {@link #fail(FailureReason) failed}.
+     *
+     * @return The reason, if failed
+     */
+    Optional<FailureReason> failure();
+
+    // Checkers/Validators
+
+    boolean hasPermission(@NotNull String permission);
+
+    boolean isPlayer();
+
+    boolean isConsole();
+
+    boolean isRemoteConsole();
+
+    /**
+     * Parse an argument using the registered {@link tsp.coex.command.argument.parser.ArgumentParser} for the type.
+     * The result is cached per argument, so parsing the same argument as the same type again does not invoke the parser.
+     *
+     * @param index The position of the argument
+     * @param type The argument type
+     * @return The parsed argument, if valid
+     * @param <U> The type of argument
+     */
+    <U> Optional<U> parseArgument(int index, @NotNull Class<U> type);
+
+    boolean isArgument(int index, @NotNull Class<?> type);
+
+    /**
+     * Get an integer argument within a range, otherwise fail.
+     * Parsed without boxing or exceptions.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @param failureMessage Message if the argument is missing, invalid or out of range
+     * @return The value
+     */
+    int intArg(int index, int min, int max, @Nullable Component failureMessage);
+
+    /**
+     * Get an integer argument within a range, otherwise fail without a message.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The value
+     */
+    default int intArg(int index, int min, int max) {
+        return intArg(index, min, max, null);
+    }
+
+    /**
+     * Get an integer argument, otherwise fail.
+     *
+     * @param index The position of the argument
+     * @return The value
+     */
+    default int intArg(int index) {
+        return intArg(index, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a long argument within a range, otherwise fail.
+     * Parsed without boxing or exceptions.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @param failureMessage Message if the argument is missing, invalid or out of range
+     * @return The value
+     */
+    long longArg(int index, long min, long max, @Nullable Component failureMessage);
+
+    /**
+     * Get a long argument within a range, otherwise fail without a message.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The value
+     */
+    default long longArg(int index, long min, long max) {
+        return longArg(index, min, max, null);
+    }
+
+    /**
+     * Get a long argument, otherwise fail.
+     *
+     * @param index The position of the argument
+     * @return The value
+     */
+    default long longArg(int index) {
+        return longArg(index, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Get a decimal argument within a range, otherwise fail.
+     * Parsed without boxing or exceptions.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @param failureMessage Message if the argument is missing, invalid or out of range
+     * @return The value
+     */
+    double doubleArg(int index, double min, double max, @Nullable Component failureMessage);
+
+    /**
+     * Get a decimal argument within a range, otherwise fail without a message.
+     *
+     * @param index The position of the argument
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The value
+     */
+    default double doubleArg(int index, double min, double max) {
+        return doubleArg(index, min, max, null);
+    }
+
+    /**
+     * Get a decimal argument, otherwise fail.
+     *
+     * @param index The position of the argument
+     * @return The value
+     */
+    default double doubleArg(int index) {
+        return doubleArg(index, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    <U> U validateArgument(int index, @NotNull Class<U> type, @Nullable Component failureMessage);
+
+    <U> U validateArgument(int index, @NotNull Class<U> type, @Nullable UnaryOperator<Component> failureMessage);
+
+    default <U> U validateArgument(int index, @NotNull Class<U> type) {
+        return validateArgument(index, type, (Component) null);
+    }
+
+    // Assertions
+
+    /**
+     * Assert an expression.
+     *
+     * @param assertion Expression
+     * @param failureMessage Message if assertion fails
+     * @return Context
+     */
+    CommandContext<T> assertion(boolean assertion, @Nullable Component failureMessage);
+
+    /**
+     * Assert an expression.
+     *
+     * @param assertion Expression
+     * @return Context
+     */
+    default CommandContext<T> assertion(boolean assertion) {
+        return assertion(assertion, null);
+    }
+
+    /**
+     * Assert that the sender is of a type.
+     *
+     * @param other The type object
+     * @param message The message
+     * @return Context
+     */
+    default CommandContext<T> assertSender(Object other, @Nullable Component message) {
+        return assertion(sender().getClass().isInstance(other), message);
+    }
+
+    /**
+     * Assert that the sender is of a type.
+     *
+     * @param other The type object
+     * @return Context
+     */
+    default CommandContext<T> assertSender(Object other) {
+        return assertSender(other, null);
+    }
+
+    /**
+     * Assert that the sender has the provided permission.
+     *
+     * @param permission Permission
+     * @param message Message
+     * @return Context
+     */
+    default CommandContext<T> assertPermission(@NotNull String permission, @Nullable Component message) {
+        return assertion(hasPermission(permission), message);
+    }
+
+    /**
+     * Assert that the sender has the provided permission.
+     *
+     * @param permission Permission
+     * @return Context
+     */
+    default CommandContext<T> assertPermission(@NotNull String permission) {
+        return assertPermission(permission, null);
+    }
+
+
+    /**
+     * Assert that the sender is a {@link ConsoleCommandSender}.
+     *
+     * @param message Message
+     * @return Context
+     */
+    default CommandContext<ConsoleCommandSender> assertConsole(@Nullable Component message) {
+        return (CommandContext<ConsoleCommandSender>) assertion(isConsole(), message);
+    }
+
+    /**
+     * Assert that the sender is a {@link ConsoleCommandSender}.
+     *
+     * @return Context
+     */
+    default CommandContext<ConsoleCommandSender> assertConsole() {
+        return assertConsole(null);
+    }
+
+    /**
+     * Assert that the sender is a {@link RemoteConsoleCommandSender}.
+     *
+     * @param message Message
+     * @return Context
+     */
+    default CommandContext<RemoteConsoleCommandSender> assertRemoteConsole(@Nullable Component message) {
+        return (CommandContext<RemoteConsoleCommandSender>) assertion(isConsole(), message);
+    }
+
+    /**
+     * Assert that the sender is a {@link RemoteConsoleCommandSender}.
+     *
+     * @return Context
+     */
+    default CommandContext<RemoteConsoleCommandSender> assertRemoteConsole() {
+        return assertRemoteConsole(null);
+    }
+
+    /**
+     * Assert that the sender is a {@link Player}.
+     *
+     * @param message Message
+     * @return Context
+     */
+    default CommandContext<Player> assertPlayer(@Nullable Component message) {
+        return (CommandContext<Player>) assertion(isPlayer(), message);
+    }
+
+    /**
+     * Assert that the sender is a {@link Player}.
+     *
+     * @return Context
+     */
+    default CommandContext<Player> assertPlayer() {
+        return assertPlayer(null);
+    }
+
+    /**
+     * Assert that an argument is of a specific type, otherwise send a message.
+     *
+     * @param index The argument index
+     * @param type The argument type
+     * @param message The message to send if type does not match
+     * @return Context
+     */
+    default CommandContext<T> assertArgument(int index, @NotNull Class<?> type, @NotNull Component message) {
+        return assertion(validateArgument(index, type) != null, message);
+    }
+
+    /**
+     * Assert that an argument is of a specific type, otherwise send a message.
+     *
+     * @param index The argument index
+     * @param type The argument type
+     * @return Context
+     */
+    default CommandContext<T> assertArgument(int index, @NotNull Class<?> type) {
+        Optional<String> arg = rawArg(index);
+        return assertArgument(index, type, Component.text("Invalid or missing argument at position " + index).color(NamedTextColor.RED).append(arg.isPresent() ? Component.text(": ").append(Component.text(arg.get()).color(NamedTextColor.YELLOW)) : Component.text("!")));
+    }
+
+}
\ No newline at end of file
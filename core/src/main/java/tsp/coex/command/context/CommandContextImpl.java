@@ -0,0 +1,582 @@
+package tsp.coex.command.context;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.CommandInterruptException;
+import tsp.coex.command.Command;
+import tsp.coex.command.argument.Argument;
+import tsp.coex.command.argument.ArgumentImpl;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+import tsp.coex.command.argument.parser.NumberCheck;
+import tsp.coex.command.argument.parser.NumbersParser;
+import tsp.coex.command.flag.Flag;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.permission.PermissionCache;
+import tsp.coex.command.result.FailureReason;
+import tsp.coex.command.usage.UsageSchema;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.MetricsSink;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementation of {@link CommandContext}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CommandContextImpl<T extends CommandSender> implements CommandContext<T> {
+
+    /**
+     * The default {@link #optionPrefix() option prefix}.
+     */
+    public static final String OPTION_PREFIX = "-";
+
+    private final T sender;
+    private String[] raw;
+    private final Command command;
+
+    // Arguments split by the usage schema, null if the schema has no quoted or greedy slots
+    @Nullable
+    private TokenizedInput tokens;
+
+    // Lazily computed option/positional split, see #scan()
+    private boolean scanned;
+    @Nullable
+    private long[] optionMask; // Bit per raw index that is an option, null if there are none
+    @Nullable
+    private int[] positions; // Raw index per positional argument, null if there are no options
+    @Nullable
+    private FlagScanner flags; // Null if no argument is a flag
+    private int size;
+    @Nullable
+    private Set<String> options;
+    @Nullable
+    private List<String> arguments;
+
+    // Parse results per positional argument, see #parseArgument(int, Class)
+    @Nullable
+    private Class<?>[] parsedTypes;
+    @Nullable
+    private Optional<?>[] parsedValues;
+
+    // Parser per positional argument, kept when the context is recycled
+    @Nullable
+    private Class<?>[] parserTypes;
+    @Nullable
+    private ArgumentParser<?>[] parsers;
+
+    @Nullable
+    private FailureReason failure;
+    @Nullable
+    private Consumer<Component> replies; // Receives replies instead of the sender, if set
+    @Nullable
+    private String label;
+
+    public CommandContextImpl(T sender, String[] args, Command command) {
+        this(sender, args, command, null);
+    }
+
+    /**
+     * Create a context for arguments that have already been tokenized.
+     *
+     * @param sender The sender
+     * @param args The arguments, as split by the server
+     * @param command The command
+     * @param tokens The tokenized arguments, or {@code null} to tokenize on demand if the usage schema requires it
+     */
+    public CommandContextImpl(T sender, String[] args, Command command, @Nullable TokenizedInput tokens) {
+        this.sender = sender;
+        this.command = command;
+        this.raw = args;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Redirect replies, including failure messages, away from the sender, e.g. when executing a batch.
+     * Kept when the context is recycled.
+     *
+     * @param replies Consumer of replies, or {@code null} to message the sender
+     * @return This context
+     */
+    public CommandContextImpl<T> replyTo(@Nullable Consumer<Component> replies) {
+        this.replies = replies;
+        return this;
+    }
+
+    /**
+     * Set the label the sender used to execute the command.
+     * Kept when the context is recycled.
+     *
+     * @param label The label, or {@code null} to use the command name
+     * @return This context
+     */
+    public CommandContextImpl<T> label(@Nullable String label) {
+        this.label = label;
+        return this;
+    }
+
+    /**
+     * Reuse this context for another invocation of the same command by the same sender, e.g. when executing a batch.
+     * Scan and parse results are cleared, while their arrays and the resolved parsers are kept.
+     * Must not be called while a handler may still use this context.
+     *
+     * @param args The arguments, as split by the server
+     * @param tokens The tokenized arguments, or {@code null} to tokenize on demand if the usage schema requires it
+     * @return This context
+     */
+    public CommandContextImpl<T> recycle(@NotNull String[] args, @Nullable TokenizedInput tokens) {
+        this.raw = args;
+        this.tokens = tokens;
+        this.scanned = false;
+        this.optionMask = null;
+        this.positions = null;
+        this.flags = null;
+        this.size = 0;
+        this.options = null;
+        this.failure = null;
+        if (parsedTypes != null) {
+            Arrays.fill(parsedTypes, null);
+            Arrays.fill(parsedValues, null);
+        }
+        return this;
+    }
+
+    /**
+     * Split the raw arguments into options and positional arguments.
+     * Nothing is allocated unless at least one option is present,
+     * or the usage schema has quoted or greedy slots in which case the arguments are {@link TokenizedInput tokenized}.
+     */
+    private void scan() {
+        if (scanned) {
+            return;
+        }
+
+        String prefix = optionPrefix();
+        if (tokens == null && command != null) {
+            UsageSchema schema = command.getUsageSchema().orElse(null);
+            if (schema != null && schema.isTokenized()) {
+                tokens = TokenizedInput.tokenize(raw, schema, prefix, flagSet());
+            }
+        }
+        if (tokens != null) {
+            size = tokens.size();
+            flags = tokens.flags();
+            scanned = true;
+            return;
+        }
+
+        int count = 0;
+        for (int i = 0; i < raw.length; i++) {
+            String arg = raw[i];
+            if (arg == null) {
+                continue;
+            }
+
+            if (flags == null && FlagScanner.isCandidate(arg, 0, arg.length(), prefix)) {
+                flags = new FlagScanner(prefix, flagSet());
+            }
+            if (flags != null && flags.accept(arg, 0, arg.length())) {
+                if (optionMask == null) {
+                    optionMask = new long[(raw.length + 63) >>> 6];
+                }
+                optionMask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+
+        size = raw.length - count;
+        if (optionMask != null) {
+            positions = new int[size];
+            for (int i = 0, p = 0; i < raw.length; i++) {
+                if (!isOption(i)) {
+                    positions[p++] = i;
+                }
+            }
+        }
+        scanned = true;
+    }
+
+    private boolean isOption(int rawIndex) {
+        return optionMask != null && (optionMask[rawIndex >>> 6] & (1L << rawIndex)) != 0;
+    }
+
+    @Nullable
+    private FlagSet flagSet() {
+        return command != null ? command.getFlags().orElse(null) : null;
+    }
+
+    @Override
+    public T sender() {
+        return sender;
+    }
+
+    @Override
+    public Command command() {
+        return command;
+    }
+
+    @Override
+    public String label() {
+        return label != null ? label : command.getName();
+    }
+
+    @Override
+    public Set<String> options() {
+        if (options == null) {
+            scan();
+            if (flags == null) {
+                options = Set.of();
+            } else {
+                Set<String> set = new HashSet<>(flags.undeclared());
+                FlagSet flagSet = flagSet();
+                for (long present = flags.present(); present != 0; present &= present - 1) {
+                    set.add(flagSet.flag(Long.numberOfTrailingZeros(present)).name());
+                }
+                options = Collections.unmodifiableSet(set);
+            }
+        }
+        return options;
+    }
+
+    @Override
+    public boolean hasFlag(@NotNull Flag<?> flag) {
+        checkFlag(flag);
+        scan();
+        return flags != null && flags.has(flag.ordinal());
+    }
+
+    @Override
+    public boolean hasFlag(@NotNull String name) {
+        FlagSet flagSet = flagSet();
+        Flag<?> flag = null;
+        if (flagSet != null) {
+            flag = name.length() == 1 ? flagSet.find(name.charAt(0)) : null;
+            if (flag == null) {
+                flag = flagSet.find(name);
+            }
+        }
+        if (flag != null) {
+            return hasFlag(flag);
+        }
+        scan();
+        return flags != null && flags.undeclared().contains(name);
+    }
+
+    @Override
+    public <U> Optional<U> flag(@NotNull Flag<U> flag) {
+        checkFlag(flag);
+        scan();
+        return flags != null ? flags.parse(flag) : Optional.empty();
+    }
+
+    private void checkFlag(Flag<?> flag) {
+        FlagSet flagSet = flagSet();
+        if (flagSet == null || !flagSet.contains(flag)) {
+            throw new IllegalArgumentException("Flag " + flag + " is not declared by command " + (command != null ? command.getName() : null));
+        }
+    }
+
+    @Override
+    public List<String> rawArgs() {
+        scan();
+        if (arguments == null) {
+            arguments = new AbstractList<>() {
+                @Override
+                public String get(int index) {
+                    Objects.checkIndex(index, size);
+                    return value(index);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return arguments;
+    }
+
+    @Override
+    public Optional<String> rawArg(int index) {
+        scan();
+        if (index < 0 || index >= size) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(value(index));
+    }
+
+    /**
+     * Value of a positional argument, the index must have been checked against {@link #size}.
+     */
+    @Nullable
+    private String value(int index) {
+        return tokens != null ? tokens.value(index) : raw[positions == null ? index : positions[index]];
+    }
+
+    @Override
+    public Argument arg(int index) {
+        return argOpt(index).orElseGet(() -> new ArgumentImpl(index, null));
+    }
+
+    @Override
+    public Optional<Argument> argOpt(int index) {
+        scan();
+        if (index < 0 || index >= size) {
+            return Optional.empty();
+        }
+        if (tokens != null) {
+            return Optional.of(new ArgumentImpl(index, tokens.value(index), tokens.slice(index)));
+        }
+        return Optional.ofNullable(value(index)).map(arg -> new ArgumentImpl(index, arg));
+    }
+
+    @Override
+    public Argument[] args() {
+        scan();
+        Argument[] args = new Argument[size];
+        for (int i = 0; i < size; i++) {
+            args[i] = arg(i);
+        }
+        return args;
+    }
+
+    @Override
+    public String optionPrefix() {
+        return OPTION_PREFIX;
+    }
+
+    @Override
+    public CommandContext<T> assertion(boolean assertion, @Nullable Component failureMessage) {
+        if (assertion) {
+            return this;
+        } else {
+            throw fail(FailureReason.assertion(failureMessage));
+        }
+    }
+
+    @Override
+    public CommandInterruptException fail(@NotNull FailureReason reason) {
+        this.failure = reason;
+        reason.message().ifPresent(this::reply);
+        throw CommandInterruptException.INSTANCE;
+    }
+
+    @Override
+    public Optional<FailureReason> failure() {
+        return Optional.ofNullable(failure);
+    }
+
+    @Override
+    public boolean hasPermission(@Nonnull String permission) {
+        return PermissionCache.hasPermission(sender, permission);
+    }
+
+    @Override
+    public boolean isPlayer() {
+        return sender instanceof Player;
+    }
+
+    @Override
+    public boolean isConsole() {
+        return sender instanceof ConsoleCommandSender;
+    }
+
+    @Override
+    public boolean isRemoteConsole() {
+        return sender instanceof RemoteConsoleCommandSender;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Optional<U> parseArgument(int index, @NotNull Class<U> type) {
+        scan();
+        if (index < 0 || index >= size) {
+            return parser(type).parse("");
+        }
+
+        if (parsedTypes == null || parsedTypes.length < size) {
+            parsedTypes = new Class<?>[size];
+            parsedValues = new Optional<?>[size];
+        } else if (parsedTypes[index] == type) {
+            return (Optional<U>) parsedValues[index];
+        }
+
+        String value = value(index);
+        ArgumentParser<U> parser = parser(index, type);
+        MetricsSink metrics = CommandMetrics.sink();
+        long start = CommandMetrics.start(metrics);
+        Optional<U> result = parser.parse(value != null ? value : "");
+        if (start != 0) metrics.parse(type, CommandMetrics.elapsed(start));
+        parsedTypes[index] = type;
+        parsedValues[index] = result;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> ArgumentParser<U> parser(int index, Class<U> type) {
+        if (parserTypes == null || parserTypes.length < size) {
+            Class<?>[] types = new Class<?>[size];
+            ArgumentParser<?>[] resolved = new ArgumentParser<?>[size];
+            if (parserTypes != null) {
+                System.arraycopy(parserTypes, 0, types, 0, parserTypes.length);
+                System.arraycopy(parsers, 0, resolved, 0, parsers.length);
+            }
+            parserTypes = types;
+            parsers = resolved;
+        } else if (parserTypes[index] == type) {
+            return (ArgumentParser<U>) parsers[index];
+        }
+
+        ArgumentParser<U> parser = parser(type);
+        parserTypes[index] = type;
+        parsers[index] = parser;
+        return parser;
+    }
+
+    // The parser used for an argument, resolved from the cache if the argument was parsed
+    private ArgumentParser<?> resolvedParser(int index, Class<?> type) {
+        return index >= 0 && index < size ? parser(index, type) : parser(type);
+    }
+
+    private <U> ArgumentParser<U> parser(Class<U> type) {
+        return ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type));
+    }
+
+    @Override
+    public boolean isArgument(int index, @NotNull Class<?> type) {
+        return parseArgument(index, type).isPresent();
+    }
+
+    @Override
+    public int intArg(int index, int min, int max, @Nullable Component failureMessage) {
+        String value = positional(index);
+        NumberCheck check = value == null ? NumberCheck.INVALID : NumbersParser.checkInt(value, min, max);
+        if (!check.isValid()) {
+            failNumber(index, Integer.class, value, check, failureMessage);
+        }
+        return NumbersParser.parseIntUnchecked(value);
+    }
+
+    @Override
+    public long longArg(int index, long min, long max, @Nullable Component failureMessage) {
+        String value = positional(index);
+        NumberCheck check = value == null ? NumberCheck.INVALID : NumbersParser.checkLong(value, min, max);
+        if (!check.isValid()) {
+            failNumber(index, Long.class, value, check, failureMessage);
+        }
+        return NumbersParser.parseLongUnchecked(value);
+    }
+
+    @Override
+    public double doubleArg(int index, double min, double max, @Nullable Component failureMessage) {
+        String value = positional(index);
+        if (value == null || !NumbersParser.isDecimal(value)) {
+            failNumber(index, Double.class, value, NumberCheck.INVALID, failureMessage);
+        }
+
+        // Parsed once, then checked against the range
+        double result = NumbersParser.parseDoubleUnchecked(value);
+        NumberCheck check = NumbersParser.checkDouble(result, min, max);
+        if (!check.isValid()) {
+            failNumber(index, Double.class, value, check, failureMessage);
+        }
+        return result;
+    }
+
+    @Nullable
+    private String positional(int index) {
+        scan();
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        return value(index);
+    }
+
+    private void failNumber(int index, Class<?> type, @Nullable String value, NumberCheck check, @Nullable Component failureMessage) {
+        if (check == NumberCheck.INVALID) {
+            throw fail(FailureReason.argument(index, type, null, value, failureMessage));
+        }
+        throw fail(FailureReason.outOfRange(index, type, value, failureMessage));
+    }
+
+    @Override
+    public <U> U validateArgument(int index, @NotNull Class<U> type, @Nullable Component failureMessage) {
+        Optional<U> result = parseArgument(index, type);
+        if (result.isPresent()) {
+            return result.get();
+        } else {
+            throw fail(FailureReason.argument(index, type, resolvedParser(index, type), positional(index), failureMessage));
+        }
+    }
+
+    @Override
+    public <U> U validateArgument(int index, @NotNull Class<U> type, @Nullable UnaryOperator<@Nullable Component> failureMessage) {
+        Optional<U> result = parseArgument(index, type);
+        if (result.isPresent()) {
+            return result.get();
+        } else {
+            String raw = positional(index);
+            Component message = failureMessage != null && raw != null ? failureMessage.apply(Component.text(raw)) : null;
+            throw fail(FailureReason.argument(index, type, resolvedParser(index, type), raw, message));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> runSync(@NotNull Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                task.run();
+                return CompletableFuture.completedFuture(null);
+            } catch (Throwable ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return CompletableFuture.runAsync(task, mainThreadExecutor());
+    }
+
+    @Override
+    public <R> CompletableFuture<R> callSync(@NotNull Supplier<R> task) {
+        if (Bukkit.isPrimaryThread()) {
+            // Fail the future like the asynchronous path does, instead of throwing to the caller
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Throwable ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return CompletableFuture.supplyAsync(task, mainThreadExecutor());
+    }
+
+    private Executor mainThreadExecutor() {
+        Plugin plugin = command.getPlugin().orElseThrow(() -> new IllegalStateException("Command " + command.getName() + " is not registered to a plugin!"));
+        return Bukkit.getScheduler().getMainThreadExecutor(plugin);
+    }
+
+    @Override
+    public CommandContext<T> reply(@NotNull Component message) {
+        Consumer<Component> replies = this.replies;
+        if (replies != null) {
+            replies.accept(message);
+        } else if (command != null && command.getExecutor().isPresent() && !Bukkit.isPrimaryThread()) {
+            runSync(() -> sender.sendMessage(message));
+        } else {
+            sender.sendMessage(message);
+        }
+        return this;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package tsp.coex.command.context;
+
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.flag.Flag;
+import tsp.coex.command.flag.FlagSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classifies arguments as flags, flag values or positional arguments, one argument at a time.
+ * Declared flags are kept in a bitset, undeclared options are kept by name for {@link CommandContext#options()}.
+ *
+ * @author TheSilentPro (Silent)
+ * @see FlagSet
+ */
+final class FlagScanner {
+
+    private final String prefix;
+    private final String longPrefix;
+    @Nullable
+    private final FlagSet flags;
+
+    private long present;
+    @Nullable
+    private String[] values; // Raw value per ordinal
+    @Nullable
+    private Optional<?>[] parsed; // Parsed value per ordinal
+    @Nullable
+    private List<String> undeclared;
+    private int pending = -1; // Ordinal of the flag waiting for its value
+    private boolean terminated;
+    private int consumed;
+
+    FlagScanner(String prefix, @Nullable FlagSet flags) {
+        this.prefix = prefix;
+        this.longPrefix = prefix + prefix;
+        this.flags = flags;
+    }
+
+    /**
+     * Check whether an argument could start a flag, without creating a scanner.
+     */
+    static boolean isCandidate(String input, int start, int end, String prefix) {
+        return end - start > prefix.length() && input.startsWith(prefix, start) && !isNumber(input, start + prefix.length(), end);
+    }
+
+    private static boolean isNumber(String input, int start, int end) {
+        char c = input.charAt(start);
+        return (c >= '0' && c <= '9') || (c == '.' && start + 1 < end && input.charAt(start + 1) >= '0' && input.charAt(start + 1) <= '9');
+    }
+
+    /**
+     * Whether the next argument is taken as the value of a flag.
+     */
+    boolean isPending() {
+        return pending >= 0;
+    }
+
+    /**
+     * Accept the next argument.
+     *
+     * @return True if the argument is a flag or flag value, false if it is positional
+     */
+    boolean accept(String input, int start, int end) {
+        if (pending >= 0) {
+            value(pending, input.substring(start, end));
+            pending = -1;
+            consumed++;
+            return true;
+        }
+        if (terminated || !isCandidate(input, start, end, prefix)) {
+            return false;
+        }
+
+        consumed++;
+        if (end - start == longPrefix.length() && input.startsWith(longPrefix, start)) {
+            terminated = true;
+            return true;
+        }
+
+        if (input.startsWith(longPrefix, start)) {
+            int nameStart = start + longPrefix.length();
+            int nameEnd = input.indexOf('=', nameStart);
+            if (nameEnd < 0 || nameEnd > end) {
+                nameEnd = end;
+            }
+
+            Flag<?> flag = flags != null ? flags.find(input, nameStart, nameEnd) : null;
+            if (flag == null) {
+                undeclared(input.substring(nameStart, nameEnd));
+            } else if (nameEnd < end) {
+                set(flag);
+                if (flag.isValued()) {
+                    value(flag.ordinal(), input.substring(nameEnd + 1, end));
+                }
+            } else {
+                set(flag);
+                if (flag.isValued()) {
+                    pending = flag.ordinal();
+                }
+            }
+            return true;
+        }
+
+        int nameStart = start + prefix.length();
+        if (flags != null) {
+            if (isCluster(nameStart, end, input)) {
+                for (int i = nameStart; i < end; i++) {
+                    Flag<?> flag = flags.find(input.charAt(i));
+                    set(flag);
+                    if (flag.isValued()) {
+                        pending = flag.ordinal();
+                    }
+                }
+                return true;
+            }
+
+            // Long name with a single prefix, e.g. -force
+            Flag<?> flag = flags.find(input, nameStart, end);
+            if (flag != null) {
+                set(flag);
+                if (flag.isValued()) {
+                    pending = flag.ordinal();
+                }
+                return true;
+            }
+        }
+
+        undeclared(input.substring(nameStart, end));
+        return true;
+    }
+
+    // Every character is a declared short flag, only the last may take a value
+    @SuppressWarnings("ConstantConditions")
+    private boolean isCluster(int start, int end, String input) {
+        for (int i = start; i < end; i++) {
+            Flag<?> flag = flags.find(input.charAt(i));
+            if (flag == null || (flag.isValued() && i != end - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void set(Flag<?> flag) {
+        present |= 1L << flag.ordinal();
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private void value(int ordinal, String value) {
+        if (values == null) {
+            values = new String[flags.size()];
+        }
+        values[ordinal] = value;
+    }
+
+    private void undeclared(String name) {
+        if (undeclared == null) {
+            undeclared = new ArrayList<>(2);
+        }
+        undeclared.add(name);
+    }
+
+    /**
+     * The amount of arguments consumed as flags or flag values.
+     */
+    int consumed() {
+        return consumed;
+    }
+
+    boolean has(int ordinal) {
+        return (present & (1L << ordinal)) != 0;
+    }
+
+    long present() {
+        return present;
+    }
+
+    @Nullable
+    String value(int ordinal) {
+        return values != null ? values[ordinal] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    <U> Optional<U> parse(Flag<U> flag) {
+        String value = value(flag.ordinal());
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        if (parsed == null) {
+            parsed = new Optional<?>[values.length];
+        } else if (parsed[flag.ordinal()] != null) {
+            return (Optional<U>) parsed[flag.ordinal()];
+        }
+
+        Optional<U> result = flag.parser().flatMap(parser -> parser.parse(value));
+        parsed[flag.ordinal()] = result;
+        return result;
+    }
+
+    List<String> undeclared() {
+        return undeclared != null ? undeclared : List.of();
+    }
+
+}
@@ -0,0 +1,278 @@
+package tsp.coex.command.context;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.usage.UsageSchema;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Command input split into arguments according to a {@link UsageSchema}, in a single pass.
+ * Arguments are stored as index ranges over the original input, strings are only created when a value is requested.
+ *
+ * <p>
+ * Every argument is a space separated word, unless its slot is:
+ * </p>
+ * <ul>
+ *     <li>{@link UsageSchema.Slot.Kind#QUOTED Quoted}: An argument starting with {@code "} lasts until the next unescaped {@code "}.
+ *     A backslash escapes the following character. An unterminated quote lasts until the end of the input.</li>
+ *     <li>{@link UsageSchema.Slot.Kind#GREEDY Greedy}: The argument is the remaining input, including spaces.</li>
+ * </ul>
+ * <p>
+ * Words are classified as flags by the command's {@link FlagSet}, unless consumed by a quoted or greedy argument.
+ * Like the server, input ending in a space has a trailing empty argument, so tab completion targets the next slot.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class TokenizedInput {
+
+    private final String input;
+    private final int[] ranges; // Start and end per argument
+    private final int size;
+    @Nullable
+    private final long[] escaped; // Bit per argument containing escapes, null if there are none
+    @Nullable
+    private final FlagScanner flags; // Null if no argument is a flag
+    @Nullable
+    private String[] values;
+
+    private TokenizedInput(String input, int[] ranges, int size, @Nullable long[] escaped, @Nullable FlagScanner flags) {
+        this.input = input;
+        this.ranges = ranges;
+        this.size = size;
+        this.escaped = escaped;
+        this.flags = flags;
+    }
+
+    /**
+     * Tokenize arguments as split by the server.
+     *
+     * @param args The arguments
+     * @param schema The schema declaring quoted and greedy slots
+     * @param optionPrefix The option prefix
+     * @param flags The declared flags, or {@code null} if none are declared
+     * @return The tokenized input
+     */
+    @NotNull
+    public static TokenizedInput tokenize(@NotNull String[] args, @NotNull UsageSchema schema, @NotNull String optionPrefix, @Nullable FlagSet flags) {
+        // The server splits on every single space, so joining restores the original input
+        String input = args.length == 1 ? args[0] : String.join(" ", args);
+        return tokenize(input, args.length > 0, schema, optionPrefix, flags);
+    }
+
+    /**
+     * Tokenize raw input, without the command label.
+     *
+     * @param input The input
+     * @param schema The schema declaring quoted and greedy slots
+     * @param optionPrefix The option prefix
+     * @param flags The declared flags, or {@code null} if none are declared
+     * @return The tokenized input
+     */
+    @NotNull
+    public static TokenizedInput tokenize(@NotNull String input, @NotNull UsageSchema schema, @NotNull String optionPrefix, @Nullable FlagSet flags) {
+        return tokenize(input, !input.isEmpty(), schema, optionPrefix, flags);
+    }
+
+    private static TokenizedInput tokenize(String input, boolean present, UsageSchema schema, String optionPrefix, @Nullable FlagSet flags) {
+        int length = input.length();
+        int[] ranges = new int[Math.max(2, schema.size() * 2)];
+        int size = 0;
+        long[] escaped = null;
+        FlagScanner scanner = null;
+
+        // Whether the input ends between arguments
+        boolean trailing = present && (length == 0 || input.charAt(length - 1) == ' ');
+
+        int pos = 0;
+        while (pos < length) {
+            char c = input.charAt(pos);
+            if (c == ' ') {
+                pos++;
+                continue;
+            }
+
+            // A flag waiting for its value takes the next word
+            UsageSchema.Slot slot = schema.slot(size);
+            UsageSchema.Slot.Kind kind = slot != null && (scanner == null || !scanner.isPending()) ? slot.kind() : UsageSchema.Slot.Kind.WORD;
+            int start = pos;
+            int end;
+            if (kind == UsageSchema.Slot.Kind.GREEDY) {
+                end = length;
+                pos = length;
+                trailing = false;
+            } else if (kind == UsageSchema.Slot.Kind.QUOTED && c == '"') {
+                start = ++pos;
+                boolean escapes = false;
+                while (pos < length && input.charAt(pos) != '"') {
+                    if (input.charAt(pos) == '\\' && pos + 1 < length) {
+                        escapes = true;
+                        pos++;
+                    }
+                    pos++;
+                }
+                end = pos;
+                if (pos < length) {
+                    pos++; // Closing quote
+                } else {
+                    trailing = false;
+                }
+
+                if (escapes) {
+                    if (escaped == null) {
+                        escaped = new long[(Math.max(size, schema.size()) >>> 6) + 1];
+                    } else if ((size >>> 6) >= escaped.length) {
+                        escaped = Arrays.copyOf(escaped, (size >>> 6) + 1);
+                    }
+                    escaped[size >>> 6] |= 1L << size;
+                }
+            } else {
+                while (pos < length && input.charAt(pos) != ' ') {
+                    pos++;
+                }
+                end = pos;
+
+                if (scanner == null && FlagScanner.isCandidate(input, start, end, optionPrefix)) {
+                    scanner = new FlagScanner(optionPrefix, flags);
+                }
+                if (scanner != null && scanner.accept(input, start, end)) {
+                    continue;
+                }
+            }
+
+            if (size * 2 == ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[size * 2] = start;
+            ranges[size * 2 + 1] = end;
+            size++;
+        }
+
+        if (trailing) {
+            if (size * 2 == ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length + 2);
+            }
+            ranges[size * 2] = length;
+            ranges[size * 2 + 1] = length;
+            size++;
+        }
+
+        return new TokenizedInput(input, ranges, size, escaped, scanner);
+    }
+
+    /**
+     * The input the arguments are ranges of.
+     *
+     * @return The input
+     */
+    @NotNull
+    public String input() {
+        return input;
+    }
+
+    /**
+     * The amount of arguments, excluding options.
+     *
+     * @return Argument count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The amount of words that are flags or flag values.
+     *
+     * @return Option count
+     */
+    public int options() {
+        return flags != null ? flags.consumed() : 0;
+    }
+
+    @Nullable
+    FlagScanner flags() {
+        return flags;
+    }
+
+    /**
+     * The start of an argument in the {@link #input() input}, excluding quotes.
+     *
+     * @param index The argument index
+     * @return Start index, inclusive
+     */
+    public int start(int index) {
+        return ranges[checkIndex(index) * 2];
+    }
+
+    /**
+     * The end of an argument in the {@link #input() input}, excluding quotes.
+     *
+     * @param index The argument index
+     * @return End index, exclusive
+     */
+    public int end(int index) {
+        return ranges[checkIndex(index) * 2 + 1];
+    }
+
+    /**
+     * A view of an argument as written, including escape characters. No characters are copied.
+     *
+     * @param index The argument index
+     * @return The argument slice
+     */
+    @NotNull
+    public CharSequence slice(int index) {
+        return CharBuffer.wrap(input, start(index), end(index));
+    }
+
+    /**
+     * The value of an argument, with escapes resolved. The value is created once and cached.
+     *
+     * @param index The argument index
+     * @return The argument value
+     */
+    @NotNull
+    public String value(int index) {
+        checkIndex(index);
+        if (values == null) {
+            values = new String[size];
+        } else if (values[index] != null) {
+            return values[index];
+        }
+
+        int start = ranges[index * 2];
+        int end = ranges[index * 2 + 1];
+        String value;
+        if (escaped != null && (index >>> 6) < escaped.length && (escaped[index >>> 6] & (1L << index)) != 0) {
+            StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                char c = input.charAt(i);
+                if (c == '\\' && i + 1 < end) {
+                    c = input.charAt(++i);
+                }
+                builder.append(c);
+            }
+            value = builder.toString();
+        } else {
+            value = input.substring(start, end);
+        }
+
+        values[index] = value;
+        return value;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Argument index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return input;
+    }
+
+}
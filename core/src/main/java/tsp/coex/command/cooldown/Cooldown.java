@@ -0,0 +1,175 @@
+package tsp.coex.command.cooldown;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.DurationParser;
+import tsp.coex.command.message.MessageTemplate;
+import tsp.coex.command.permission.PermissionCache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A per-sender cooldown or token bucket rate limit for a command.
+ * Each instance keeps its own state, sharing an instance between commands makes them share the limit.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class Cooldown {
+
+    private final Duration period;
+    private final int capacity;
+    @Nullable
+    private final String bypassPermission;
+    @Nullable
+    private final Component message;
+    @Nullable
+    private final MessageTemplate template;
+    private final CooldownTracker tracker;
+
+    private Cooldown(Duration period, int capacity, @Nullable String bypassPermission, @Nullable Component message) {
+        if (period.isZero() || period.isNegative() || capacity < 1) {
+            throw new IllegalArgumentException("Cooldown period and capacity must be positive!");
+        }
+
+        this.period = period;
+        this.capacity = capacity;
+        this.bypassPermission = bypassPermission;
+        this.message = message;
+        this.template = message != null ? MessageTemplate.compile(message, "remaining") : null;
+        this.tracker = new CooldownTracker(Math.max(period.toNanos() / capacity, 1), capacity);
+    }
+
+    /**
+     * A fixed cooldown between uses.
+     *
+     * @param cooldown The cooldown
+     * @return The cooldown
+     */
+    @NotNull
+    public static Cooldown fixed(@NotNull Duration cooldown) {
+        return new Cooldown(cooldown, 1, null, null);
+    }
+
+    /**
+     * A token bucket allowing a burst of uses, refilling evenly over the period.
+     *
+     * @param capacity The amount of uses per period
+     * @param period The period
+     * @return The cooldown
+     */
+    @NotNull
+    public static Cooldown tokenBucket(int capacity, @NotNull Duration period) {
+        return new Cooldown(period, capacity, null, null);
+    }
+
+    /**
+     * Parse a cooldown, durations are parsed by {@link DurationParser}.
+     * Either a fixed cooldown such as {@code 30s}, or a token bucket such as {@code 3/1m} (3 uses per minute).
+     *
+     * @param input The input
+     * @return The cooldown
+     * @throws IllegalArgumentException If the input is invalid
+     */
+    @NotNull
+    public static Cooldown parse(@NotNull String input) throws IllegalArgumentException {
+        int slash = input.indexOf('/');
+        if (slash < 0) {
+            return fixed(DurationParser.parse(input.trim(), true));
+        }
+
+        int capacity;
+        try {
+            capacity = Integer.parseInt(input.substring(0, slash).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cooldown capacity: " + input);
+        }
+        return tokenBucket(capacity, DurationParser.parse(input.substring(slash + 1).trim(), true));
+    }
+
+    /**
+     * Set the permission that bypasses this cooldown.
+     *
+     * @param bypassPermission The permission
+     * @return A new cooldown with the permission
+     */
+    @NotNull
+    public Cooldown withBypass(@Nullable String bypassPermission) {
+        return new Cooldown(period, capacity, bypassPermission, message);
+    }
+
+    /**
+     * Set the message sent when a sender is on cooldown.
+     * {@code {remaining}} is replaced with the remaining seconds.
+     *
+     * @param message The message
+     * @return A new cooldown with the message
+     */
+    @NotNull
+    public Cooldown withMessage(@Nullable Component message) {
+        return new Cooldown(period, capacity, bypassPermission, message);
+    }
+
+    /**
+     * Check whether a sender bypasses this cooldown.
+     *
+     * @param sender The sender
+     * @return True if the sender has the bypass permission
+     */
+    public boolean canBypass(@NotNull CommandSender sender) {
+        return bypassPermission != null && PermissionCache.hasPermission(sender, bypassPermission);
+    }
+
+    /**
+     * Try to use the cooldown.
+     *
+     * @param id The sender id
+     * @return {@code 0} if allowed, otherwise the nanoseconds until the sender may use it again
+     */
+    public long tryAcquire(@NotNull UUID id) {
+        return tracker.tryAcquire(id, System.nanoTime());
+    }
+
+    /**
+     * Reset the cooldown of a sender.
+     *
+     * @param id The sender id
+     */
+    public void reset(@NotNull UUID id) {
+        tracker.reset(id);
+    }
+
+    @NotNull
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @NotNull
+    public Optional<String> getBypassPermission() {
+        return Optional.ofNullable(bypassPermission);
+    }
+
+    @NotNull
+    public Optional<Component> getMessage() {
+        return Optional.ofNullable(message);
+    }
+
+    /**
+     * The message sent when a sender is on cooldown, with {@code {remaining}} filled in.
+     *
+     * @param remaining The nanoseconds remaining, as returned by {@link #tryAcquire(UUID)}
+     * @return The message, if set
+     */
+    @NotNull
+    public Optional<Component> getMessage(long remaining) {
+        return template != null ? Optional.of(template.render((remaining + 999_999_999L) / 1_000_000_000L)) : Optional.empty();
+    }
+
+}
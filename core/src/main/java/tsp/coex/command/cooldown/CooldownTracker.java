@@ -0,0 +1,205 @@
+package tsp.coex.command.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Tracks rate limit state per {@link UUID} using the generic cell rate algorithm (GCRA),
+ * which needs a single {@code long} per key: the theoretical arrival time of the next request.
+ *
+ * <p>
+ * Keys are stored as primitive {@code long} pairs in open-addressed tables, split over stripes to reduce contention.
+ * Entries whose arrival time has passed are equivalent to absent entries and are swept when a stripe fills up,
+ * so the tracker does not grow with the amount of distinct senders over time.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CooldownTracker {
+
+    private static final int STRIPES = 16;
+
+    private final long interval;
+    private final long burst;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * Create a new tracker.
+     *
+     * @param interval The nanoseconds between requests
+     * @param capacity The amount of requests allowed in a burst
+     */
+    public CooldownTracker(long interval, int capacity) {
+        if (interval <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Interval and capacity must be positive!");
+        }
+
+        this.interval = interval;
+        this.burst = interval * (capacity - 1);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Try to acquire a request for a key.
+     *
+     * @param id The key
+     * @param now The current time, see {@link System#nanoTime()}
+     * @return {@code 0} if acquired, otherwise the nanoseconds until a request is available
+     */
+    public long tryAcquire(@NotNull UUID id, long now) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        return stripes[stripe(msb, lsb)].tryAcquire(msb, lsb, now, interval, burst);
+    }
+
+    /**
+     * Reset the state of a key.
+     *
+     * @param id The key
+     */
+    public void reset(@NotNull UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        stripes[stripe(msb, lsb)].remove(msb, lsb);
+    }
+
+    /**
+     * The amount of tracked keys, including expired keys that have not been swept yet.
+     *
+     * @return The size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    private static long mix(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int stripe(long msb, long lsb) {
+        return (int) (mix(msb, lsb) >>> 60) & (STRIPES - 1);
+    }
+
+    private static final class Stripe {
+
+        private long[] msbs = new long[16];
+        private long[] lsbs = new long[16];
+        private long[] arrivals = new long[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        private synchronized long tryAcquire(long msb, long lsb, long now, long interval, long burst) {
+            int index = find(msb, lsb);
+            long arrival = index >= 0 ? arrivals[index] : now;
+
+            long allowedAt = arrival - burst;
+            if (now - allowedAt < 0) {
+                return allowedAt - now;
+            }
+
+            long next = (arrival - now > 0 ? arrival : now) + interval;
+            if (index >= 0) {
+                arrivals[index] = next;
+            } else {
+                insert(msb, lsb, next, now);
+            }
+            return 0;
+        }
+
+        private synchronized void remove(long msb, long lsb) {
+            int index = find(msb, lsb);
+            if (index < 0) {
+                return;
+            }
+
+            used[index] = false;
+            size--;
+
+            // Re-place the rest of the cluster so probe sequences stay intact
+            int mask = used.length - 1;
+            for (int i = (index + 1) & mask; used[i]; i = (i + 1) & mask) {
+                used[i] = false;
+                size--;
+                place(msbs[i], lsbs[i], arrivals[i]);
+            }
+        }
+
+        private int find(long msb, long lsb) {
+            int mask = used.length - 1;
+            for (int i = (int) mix(msb, lsb) & mask; used[i]; i = (i + 1) & mask) {
+                if (msbs[i] == msb && lsbs[i] == lsb) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(long msb, long lsb, long arrival, long now) {
+            if ((size + 1) * 4 > used.length * 3) {
+                rebuild(now);
+            }
+            place(msb, lsb, arrival);
+        }
+
+        private void place(long msb, long lsb, long arrival) {
+            int mask = used.length - 1;
+            int i = (int) mix(msb, lsb) & mask;
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            msbs[i] = msb;
+            lsbs[i] = lsb;
+            arrivals[i] = arrival;
+            used[i] = true;
+            size++;
+        }
+
+        /**
+         * Drop expired entries, growing the table if it is still at least half full.
+         */
+        private void rebuild(long now) {
+            long[] oldMsbs = msbs;
+            long[] oldLsbs = lsbs;
+            long[] oldArrivals = arrivals;
+            boolean[] oldUsed = used;
+
+            int live = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i] && oldArrivals[i] - now > 0) {
+                    live++;
+                }
+            }
+
+            int capacity = oldUsed.length;
+            while ((live + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+
+            msbs = new long[capacity];
+            lsbs = new long[capacity];
+            arrivals = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i] && oldArrivals[i] - now > 0) {
+                    place(oldMsbs[i], oldLsbs[i], oldArrivals[i]);
+                }
+            }
+        }
+
+    }
+
+}
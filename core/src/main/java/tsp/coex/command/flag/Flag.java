@@ -0,0 +1,88 @@
+package tsp.coex.command.flag;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParser;
+
+import java.util.Optional;
+
+/**
+ * A flag declared in a {@link FlagSet}, e.g. {@code --force}/{@code -f} or the valued {@code --radius=10}/{@code -r 10}.
+ * Flags are created by a {@link FlagSet.Builder} and identified by their ordinal in that set.
+ *
+ * @param <T> The type of value, {@link Void} for flags without a value
+ * @author TheSilentPro (Silent)
+ */
+public final class Flag<T> {
+
+    private final String name;
+    private final char shortName;
+    private final int ordinal;
+    @Nullable
+    private final ArgumentParser<T> parser;
+
+    Flag(String name, char shortName, int ordinal, @Nullable ArgumentParser<T> parser) {
+        this.name = name;
+        this.shortName = shortName;
+        this.ordinal = ordinal;
+        this.parser = parser;
+    }
+
+    /**
+     * The long name of this flag, used as {@code --name}.
+     *
+     * @return The name
+     */
+    @NotNull
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The short name of this flag, used as {@code -n} and in clusters such as {@code -abc}.
+     *
+     * @return The short name, if declared
+     */
+    @NotNull
+    public Optional<Character> shortName() {
+        return shortName != 0 ? Optional.of(shortName) : Optional.empty();
+    }
+
+    /**
+     * The position of this flag in its {@link FlagSet}.
+     *
+     * @return The ordinal
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * Whether this flag takes a value.
+     *
+     * @return True if valued
+     */
+    public boolean isValued() {
+        return parser != null;
+    }
+
+    /**
+     * The parser used for the value of this flag.
+     *
+     * @return The parser, if valued
+     */
+    @NotNull
+    public Optional<ArgumentParser<T>> parser() {
+        return Optional.ofNullable(parser);
+    }
+
+    char shortChar() {
+        return shortName;
+    }
+
+    @Override
+    public String toString() {
+        return "--" + name;
+    }
+
+}
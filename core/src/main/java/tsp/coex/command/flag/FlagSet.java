@@ -0,0 +1,246 @@
+package tsp.coex.command.flag;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The flags declared by a command.
+ *
+ * <pre>{@code
+ * FlagSet.Builder builder = FlagSet.builder();
+ * Flag<Void> force = builder.flag("force", 'f');
+ * Flag<Integer> radius = builder.valued("radius", 'r', Integer.class);
+ * FlagSet flags = builder.build();
+ * }</pre>
+ *
+ * <p>
+ * Flags are written as {@code --name}, {@code --name=value}, {@code --name value}, {@code -n}, {@code -n value} or clusters such as {@code -abc},
+ * where only the last flag of a cluster may take a value. A {@code --} argument ends flag parsing, everything after it is positional.
+ * Arguments that look like negative numbers, e.g. {@code -64} or {@code -.5}, are never flags.
+ * </p>
+ *
+ * <p>
+ * Presence is kept in a bitset indexed by {@link Flag#ordinal()}, so a set holds at most {@value #MAX_FLAGS} flags.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class FlagSet {
+
+    /**
+     * The maximum amount of flags in a set.
+     */
+    public static final int MAX_FLAGS = 64;
+
+    private final Flag<?>[] flags;
+    private final Flag<?>[] shortFlags; // Indexed by ASCII short name
+
+    private FlagSet(Flag<?>[] flags) {
+        this.flags = flags;
+        this.shortFlags = new Flag<?>[128];
+        for (Flag<?> flag : flags) {
+            if (flag.shortChar() != 0) {
+                shortFlags[flag.shortChar()] = flag;
+            }
+        }
+    }
+
+    /**
+     * Create a builder.
+     *
+     * @return The builder
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The amount of flags.
+     *
+     * @return Flag count
+     */
+    public int size() {
+        return flags.length;
+    }
+
+    /**
+     * Get a flag by its ordinal.
+     *
+     * @param ordinal The ordinal
+     * @return The flag
+     */
+    @NotNull
+    public Flag<?> flag(int ordinal) {
+        return flags[ordinal];
+    }
+
+    /**
+     * Check whether a flag belongs to this set.
+     *
+     * @param flag The flag
+     * @return True if declared by this set
+     */
+    public boolean contains(@NotNull Flag<?> flag) {
+        return flag.ordinal() < flags.length && flags[flag.ordinal()] == flag;
+    }
+
+    /**
+     * Find a flag by its short name.
+     *
+     * @param shortName The short name
+     * @return The flag, or {@code null} if not declared
+     */
+    @Nullable
+    public Flag<?> find(char shortName) {
+        return shortName < 128 ? shortFlags[shortName] : null;
+    }
+
+    /**
+     * Find a flag by its long name.
+     *
+     * @param name The name
+     * @return The flag, or {@code null} if not declared
+     */
+    @Nullable
+    public Flag<?> find(@NotNull String name) {
+        return find(name, 0, name.length());
+    }
+
+    /**
+     * Find a flag by a long name in a region of the input, without copying it.
+     *
+     * @param input The input
+     * @param start Start of the name, inclusive
+     * @param end End of the name, exclusive
+     * @return The flag, or {@code null} if not declared
+     */
+    @Nullable
+    public Flag<?> find(@NotNull String input, int start, int end) {
+        int length = end - start;
+        for (Flag<?> flag : flags) {
+            if (flag.name().length() == length && input.regionMatches(start, flag.name(), 0, length)) {
+                return flag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a {@link FlagSet}, creating its flags.
+     */
+    public static final class Builder {
+
+        private final List<Flag<?>> flags = new ArrayList<>();
+        private boolean built;
+
+        private Builder() {}
+
+        /**
+         * Declare a flag without a value.
+         *
+         * @param name The long name
+         * @return The flag
+         */
+        @NotNull
+        public Flag<Void> flag(@NotNull String name) {
+            return add(name, (char) 0, null);
+        }
+
+        /**
+         * Declare a flag without a value.
+         *
+         * @param name The long name
+         * @param shortName The short name, an ASCII letter
+         * @return The flag
+         */
+        @NotNull
+        public Flag<Void> flag(@NotNull String name, char shortName) {
+            return add(name, shortName, null);
+        }
+
+        /**
+         * Declare a valued flag, parsed by the registered {@link ArgumentParser} for the type.
+         *
+         * @param name The long name
+         * @param type The type of value
+         * @return The flag
+         * @param <T> The type of value
+         */
+        @NotNull
+        public <T> Flag<T> valued(@NotNull String name, @NotNull Class<T> type) {
+            return valued(name, (char) 0, type);
+        }
+
+        /**
+         * Declare a valued flag, parsed by the registered {@link ArgumentParser} for the type.
+         *
+         * @param name The long name
+         * @param shortName The short name, an ASCII letter
+         * @param type The type of value
+         * @return The flag
+         * @param <T> The type of value
+         */
+        @NotNull
+        public <T> Flag<T> valued(@NotNull String name, char shortName, @NotNull Class<T> type) {
+            return valued(name, shortName, ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type)));
+        }
+
+        /**
+         * Declare a valued flag.
+         *
+         * @param name The long name
+         * @param shortName The short name, an ASCII letter, or {@code 0} for none
+         * @param parser The parser for the value
+         * @return The flag
+         * @param <T> The type of value
+         */
+        @NotNull
+        public <T> Flag<T> valued(@NotNull String name, char shortName, @NotNull ArgumentParser<T> parser) {
+            return add(name, shortName, parser);
+        }
+
+        private <T> Flag<T> add(String name, char shortName, @Nullable ArgumentParser<T> parser) {
+            if (built) {
+                throw new IllegalStateException("FlagSet has already been built!");
+            }
+            if (flags.size() == MAX_FLAGS) {
+                throw new IllegalArgumentException("A FlagSet can not have more than " + MAX_FLAGS + " flags!");
+            }
+            if (name.isEmpty() || name.indexOf('=') >= 0 || name.indexOf(' ') >= 0) {
+                throw new IllegalArgumentException("Invalid flag name: " + name);
+            }
+            if (shortName != 0 && !((shortName >= 'a' && shortName <= 'z') || (shortName >= 'A' && shortName <= 'Z'))) {
+                throw new IllegalArgumentException("Short flag name must be an ASCII letter: " + shortName);
+            }
+            for (Flag<?> flag : flags) {
+                if (flag.name().equals(name) || (shortName != 0 && flag.shortChar() == shortName)) {
+                    throw new IllegalArgumentException("Duplicate flag: " + name);
+                }
+            }
+
+            Flag<T> flag = new Flag<>(name, shortName, flags.size(), parser);
+            flags.add(flag);
+            return flag;
+        }
+
+        /**
+         * Build the set. No more flags can be declared afterwards.
+         *
+         * @return The flag set
+         */
+        @NotNull
+        public FlagSet build() {
+            built = true;
+            return new FlagSet(flags.toArray(new Flag<?>[0]));
+        }
+
+    }
+
+}
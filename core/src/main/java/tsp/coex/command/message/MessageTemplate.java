@@ -0,0 +1,281 @@
+package tsp.coex.command.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A message with {@code {name}} placeholders, parsed once into a tree with a slot per placeholder.
+ * Rendering fills the slots without searching the message, and parts without placeholders are reused as is.
+ *
+ * <pre>{@code
+ * MessageTemplate template = MessageTemplate.miniMessage("<red>{player} is not online!", "player");
+ * ctx.reply(template, name);
+ * }</pre>
+ *
+ * <p>
+ * Placeholders are recognized in the content of text components, a placeholder split over several components is left as is.
+ * Values are filled in by position: a {@link ComponentLike} is inserted as a child inheriting the surrounding style,
+ * any other value is inserted as text using {@link String#valueOf(Object)}.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class MessageTemplate {
+
+    private final Component source;
+    private final String[] placeholders;
+    private final Node root;
+
+    private MessageTemplate(Component source, String[] placeholders, Node root) {
+        this.source = source;
+        this.placeholders = placeholders;
+        this.root = root;
+    }
+
+    /**
+     * Compile a template.
+     *
+     * @param message The message
+     * @param placeholders The placeholder names, without braces, in the order their values are passed to {@link #render(Object...)}
+     * @return The template
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull Component message, @NotNull String... placeholders) {
+        for (int i = 0; i < placeholders.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (placeholders[i].equals(placeholders[j])) {
+                    throw new IllegalArgumentException("Duplicate placeholder: " + placeholders[i]);
+                }
+            }
+        }
+
+        String[] names = placeholders.clone();
+        return new MessageTemplate(message, names, node(message, names));
+    }
+
+    /**
+     * Compile a MiniMessage formatted template.
+     *
+     * @param message The MiniMessage formatted message
+     * @param placeholders The placeholder names, without braces, in the order their values are passed to {@link #render(Object...)}
+     * @return The template
+     */
+    @NotNull
+    public static MessageTemplate miniMessage(@NotNull String message, @NotNull String... placeholders) {
+        return compile(MiniMessage.miniMessage().deserialize(message), placeholders);
+    }
+
+    private static Node node(Component component, String[] placeholders) {
+        Node[] children = null;
+        boolean dynamic = false;
+        List<Component> sourceChildren = component.children();
+        if (!sourceChildren.isEmpty()) {
+            children = new Node[sourceChildren.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = node(sourceChildren.get(i), placeholders);
+                dynamic |= !(children[i] instanceof Static);
+            }
+        }
+
+        if (component instanceof TextComponent text) {
+            Text node = Text.compile(text, placeholders, children != null ? children : new Node[0]);
+            if (node != null) {
+                return node;
+            }
+        }
+
+        return dynamic ? new Container(component, children) : new Static(component);
+    }
+
+    /**
+     * Render the message.
+     *
+     * @param values The value per placeholder, in declaration order
+     * @return The message
+     * @throws IllegalArgumentException If the amount of values does not match the amount of placeholders
+     */
+    @NotNull
+    public Component render(@NotNull Object... values) {
+        if (values.length != placeholders.length) {
+            throw new IllegalArgumentException("Expected " + placeholders.length + " values but got " + values.length + "!");
+        }
+        return root.render(values);
+    }
+
+    /**
+     * Whether the message contains any declared placeholder.
+     * If not, every render returns the {@link #source() source} message.
+     *
+     * @return True if rendering fills in values
+     */
+    public boolean hasSlots() {
+        return !(root instanceof Static);
+    }
+
+    /**
+     * The placeholder names, in declaration order.
+     *
+     * @return The names
+     */
+    @NotNull
+    public List<String> placeholders() {
+        return List.of(placeholders);
+    }
+
+    /**
+     * The message this template was compiled from.
+     *
+     * @return The message
+     */
+    @NotNull
+    public Component source() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "MessageTemplate{placeholders=" + Arrays.toString(placeholders) + "}";
+    }
+
+    private interface Node {
+
+        Component render(Object[] values);
+
+    }
+
+    /**
+     * A component without placeholders, in itself or its children.
+     */
+    private record Static(Component component) implements Node {
+
+        @Override
+        public Component render(Object[] values) {
+            return component;
+        }
+
+    }
+
+    /**
+     * A component without placeholders in itself, but in some of its children.
+     */
+    private record Container(Component component, Node[] children) implements Node {
+
+        @Override
+        public Component render(Object[] values) {
+            return component.children(renderAll(children, values));
+        }
+
+    }
+
+    /**
+     * A text component with placeholders in its content.
+     * The content alternates between literals and slots, starting and ending with a literal, which may be empty.
+     */
+    private record Text(TextComponent component, String[] literals, int[] slots, Node[] children, boolean dynamic) implements Node {
+
+        @Nullable
+        static Text compile(TextComponent component, String[] placeholders, Node[] children) {
+            String content = component.content();
+            List<String> literals = null;
+            int[] slots = null;
+            int count = 0;
+            int last = 0;
+
+            int open = content.indexOf('{');
+            while (open >= 0) {
+                int close = content.indexOf('}', open + 1);
+                if (close < 0) {
+                    break;
+                }
+
+                int slot = indexOf(placeholders, content, open + 1, close);
+                if (slot < 0) {
+                    open = content.indexOf('{', open + 1);
+                    continue;
+                }
+
+                if (literals == null) {
+                    literals = new ArrayList<>();
+                    slots = new int[2];
+                } else if (count == slots.length) {
+                    slots = Arrays.copyOf(slots, count * 2);
+                }
+                literals.add(content.substring(last, open));
+                slots[count++] = slot;
+                last = close + 1;
+                open = content.indexOf('{', last);
+            }
+
+            if (literals == null) {
+                return null;
+            }
+            literals.add(content.substring(last));
+
+            boolean dynamic = false;
+            for (Node child : children) {
+                dynamic |= !(child instanceof Static);
+            }
+            return new Text(component, literals.toArray(new String[0]), Arrays.copyOf(slots, count), children, dynamic);
+        }
+
+        private static int indexOf(String[] placeholders, String content, int start, int end) {
+            for (int i = 0; i < placeholders.length; i++) {
+                String placeholder = placeholders[i];
+                if (placeholder.length() == end - start && content.startsWith(placeholder, start)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Component render(Object[] values) {
+            boolean inline = true;
+            for (int slot : slots) {
+                if (values[slot] instanceof ComponentLike) {
+                    inline = false;
+                    break;
+                }
+            }
+
+            if (inline) {
+                StringBuilder builder = new StringBuilder(literals[0]);
+                for (int i = 0; i < slots.length; i++) {
+                    builder.append(values[slots[i]]).append(literals[i + 1]);
+                }
+                Component rendered = component.content(builder.toString());
+                return dynamic ? rendered.children(renderAll(children, values)) : rendered;
+            }
+
+            // Components are inserted as children, which inherit the style of this component
+            List<Component> parts = new ArrayList<>(slots.length * 2 + children.length);
+            for (int i = 0; i < slots.length; i++) {
+                Object value = values[slots[i]];
+                parts.add(value instanceof ComponentLike like ? like.asComponent() : Component.text(String.valueOf(value)));
+                if (!literals[i + 1].isEmpty()) {
+                    parts.add(Component.text(literals[i + 1]));
+                }
+            }
+            parts.addAll(renderAll(children, values));
+            return component.content(literals[0]).children(parts);
+        }
+
+    }
+
+    private static List<Component> renderAll(Node[] nodes, Object[] values) {
+        List<Component> rendered = new ArrayList<>(nodes.length);
+        for (Node node : nodes) {
+            rendered.add(node.render(values));
+        }
+        return rendered;
+    }
+
+}
@@ -0,0 +1,240 @@
+package tsp.coex.command.permission;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.metrics.CommandMetrics;
+import tsp.coex.metrics.MetricsSink;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An opt-in cache of permission decisions per player, for permission plugins where resolving a node is expensive.
+ * When disabled, {@link #hasPermission(CommandSender, String)} calls {@link CommandSender#hasPermission(String)} directly.
+ *
+ * <p>
+ * Every permission node is assigned a small number, and each player keeps two bitsets indexed by it: whether the node is known, and whether it is granted.
+ * Decisions of a player are dropped when they quit, change world, or when the server resends their command tree,
+ * which happens after operator status changes and when permission plugins refresh a player.
+ * Bukkit has no event for permission attachment changes, so decisions additionally expire after a fixed time.
+ * Call {@link #invalidate(UUID)} or {@link #invalidateAll()} after changing permissions directly.
+ * </p>
+ *
+ * <p>
+ * Hits and misses are recorded as the {@code permission.hit} and {@code permission.miss} counters of the active {@link MetricsSink}.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class PermissionCache implements Listener {
+
+    /**
+     * The default time after which decisions are resolved again.
+     */
+    public static final Duration DEFAULT_EXPIRY = Duration.ofSeconds(30);
+
+    private static volatile PermissionCache active;
+
+    private final ConcurrentHashMap<String, Integer> nodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextNode = new AtomicInteger();
+    private final ConcurrentHashMap<UUID, Decisions> decisions = new ConcurrentHashMap<>();
+    private final long expiry;
+
+    private PermissionCache(long expiry) {
+        this.expiry = expiry;
+    }
+
+    /**
+     * Check a permission, using the cache if enabled.
+     *
+     * @param sender The sender
+     * @param permission The permission node
+     * @return Whether the sender has the permission
+     */
+    public static boolean hasPermission(@NotNull CommandSender sender, @NotNull String permission) {
+        PermissionCache cache = active;
+        if (cache == null || !(sender instanceof Player player)) {
+            return sender.hasPermission(permission);
+        }
+        return cache.check(player, permission);
+    }
+
+    /**
+     * Enable the cache with the {@link #DEFAULT_EXPIRY default expiry}.
+     *
+     * @param plugin Plugin instance used to register the listener
+     * @return The cache
+     */
+    @NotNull
+    public static PermissionCache enable(@NotNull Plugin plugin) {
+        return enable(plugin, DEFAULT_EXPIRY);
+    }
+
+    /**
+     * Enable the cache. If already enabled, the active cache is returned.
+     *
+     * @param plugin Plugin instance used to register the listener
+     * @param expiry Time after which decisions are resolved again
+     * @return The cache
+     */
+    @NotNull
+    public static synchronized PermissionCache enable(@NotNull Plugin plugin, @NotNull Duration expiry) {
+        if (active != null) {
+            return active;
+        }
+        if (expiry.isNegative() || expiry.isZero()) {
+            throw new IllegalArgumentException("Expiry must be positive!");
+        }
+
+        PermissionCache cache = new PermissionCache(expiry.toNanos());
+        plugin.getServer().getPluginManager().registerEvents(cache, plugin);
+        active = cache;
+        return cache;
+    }
+
+    /**
+     * Disable the cache, checking permissions directly again.
+     */
+    public static synchronized void disable() {
+        PermissionCache cache = active;
+        if (cache != null) {
+            active = null;
+            HandlerList.unregisterAll(cache);
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * The active cache.
+     *
+     * @return The cache, if enabled
+     */
+    @NotNull
+    public static Optional<PermissionCache> get() {
+        return Optional.ofNullable(active);
+    }
+
+    private boolean check(Player player, String permission) {
+        Integer node = nodes.get(permission);
+        if (node == null) {
+            node = nodes.computeIfAbsent(permission, key -> nextNode.getAndIncrement());
+        }
+
+        long now = System.nanoTime();
+        Decisions decisions = this.decisions.computeIfAbsent(player.getUniqueId(), uuid -> new Decisions(now + expiry));
+        MetricsSink metrics = CommandMetrics.sink();
+        int decision = decisions.get(node, now, expiry);
+        if (decision >= 0) {
+            if (metrics != MetricsSink.NOOP) metrics.count("permission.hit", 1);
+            return decision == 1;
+        }
+
+        boolean granted = player.hasPermission(permission);
+        decisions.put(node, granted);
+        if (metrics != MetricsSink.NOOP) metrics.count("permission.miss", 1);
+        return granted;
+    }
+
+    /**
+     * Drop the decisions of a player.
+     *
+     * @param uuid The unique id of the player
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        decisions.remove(uuid);
+    }
+
+    /**
+     * Drop the decisions of every player.
+     */
+    public void invalidateAll() {
+        decisions.clear();
+    }
+
+    /**
+     * The amount of players with cached decisions.
+     *
+     * @return Player count
+     */
+    public int size() {
+        return decisions.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    // Fired whenever the command tree is resent, e.g. after operator status or permission plugin updates
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommandSend(PlayerCommandSendEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Decisions of a single player.
+     */
+    private static final class Decisions {
+
+        private long[] known = new long[1];
+        private long[] granted = new long[1];
+        private long expiresAt;
+
+        private Decisions(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return 1 if granted, 0 if denied, -1 if unknown
+         */
+        synchronized int get(int node, long now, long expiry) {
+            if (now - expiresAt >= 0) {
+                Arrays.fill(known, 0);
+                expiresAt = now + expiry;
+                return -1;
+            }
+
+            int word = node >>> 6;
+            if (word >= known.length || (known[word] & (1L << node)) == 0) {
+                return -1;
+            }
+            return (granted[word] & (1L << node)) != 0 ? 1 : 0;
+        }
+
+        synchronized void put(int node, boolean value) {
+            int word = node >>> 6;
+            if (word >= known.length) {
+                int length = Math.max(word + 1, known.length * 2);
+                known = Arrays.copyOf(known, length);
+                granted = Arrays.copyOf(granted, length);
+            }
+
+            known[word] |= 1L << node;
+            if (value) {
+                granted[word] |= 1L << node;
+            } else {
+                granted[word] &= ~(1L << node);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package tsp.coex.command.result;
+
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.CommandInterruptException;
+import tsp.coex.command.context.CommandContext;
+
+import java.util.function.Supplier;
+
+/**
+ * The result of running a command handler.
+ * Handlers may return a {@link Failure} instead of throwing, see {@link tsp.coex.command.Command#invoke(CommandContext)}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public sealed interface CommandResult permits CommandResult.Success, CommandResult.Failure {
+
+    /**
+     * The handler completed.
+     *
+     * @return The shared success result
+     */
+    @NotNull
+    static CommandResult success() {
+        return Success.INSTANCE;
+    }
+
+    /**
+     * The handler failed.
+     *
+     * @param reason The reason
+     * @return The failure result
+     */
+    @NotNull
+    static CommandResult failure(@NotNull FailureReason reason) {
+        return new Failure(reason);
+    }
+
+    /**
+     * Run a handler step, converting a {@link CommandInterruptException} into a {@link Failure}.
+     * The reason is taken from the context if it {@link CommandContext#fail(FailureReason) failed}, otherwise from the exception.
+     * The message of a returned failure is sent to the sender, thrown failures have already sent theirs.
+     *
+     * @param ctx The context the step runs with
+     * @param step The step
+     * @return The result of the step
+     */
+    @NotNull
+    static CommandResult capture(@NotNull CommandContext<?> ctx, @NotNull Supplier<CommandResult> step) {
+        try {
+            CommandResult result = step.get();
+            if (result instanceof Failure failure) {
+                failure.reason().message().ifPresent(ctx::reply);
+            }
+            return result;
+        } catch (CommandInterruptException ex) {
+            return new Failure(ctx.failure().or(ex::reason).orElseGet(FailureReason::interrupted));
+        }
+    }
+
+    /**
+     * Whether this is a success.
+     *
+     * @return True if successful
+     */
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+
+    /**
+     * A successful result.
+     */
+    final class Success implements CommandResult {
+
+        private static final Success INSTANCE = new Success();
+
+        private Success() {}
+
+        @Override
+        public String toString() {
+            return "Success";
+        }
+
+    }
+
+    /**
+     * A failed result.
+     *
+     * @param reason Why the command failed
+     */
+    record Failure(@NotNull FailureReason reason) implements CommandResult {}
+
+}
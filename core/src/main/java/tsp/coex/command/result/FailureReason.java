@@ -0,0 +1,181 @@
+package tsp.coex.command.result;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParser;
+
+import java.util.Optional;
+
+/**
+ * Why a command failed, e.g. which argument could not be parsed and by which parser.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class FailureReason {
+
+    private static final FailureReason INTERRUPTED = new FailureReason(Kind.INTERRUPTED, -1, null, null, null, null);
+    private static final FailureReason ASSERTION = new FailureReason(Kind.ASSERTION, -1, null, null, null, null);
+
+    /**
+     * The kind of failure.
+     */
+    public enum Kind {
+
+        /**
+         * An assertion failed.
+         */
+        ASSERTION,
+
+        /**
+         * An argument was missing or could not be parsed.
+         */
+        INVALID_ARGUMENT,
+
+        /**
+         * A numeric argument was outside its bounds.
+         */
+        OUT_OF_RANGE,
+
+        /**
+         * The command was interrupted without a reason, e.g. by throwing a {@link tsp.coex.CommandInterruptException} directly.
+         */
+        INTERRUPTED
+
+    }
+
+    private final Kind kind;
+    private final int index;
+    @Nullable
+    private final Class<?> type;
+    @Nullable
+    private final ArgumentParser<?> parser;
+    @Nullable
+    private final String input;
+    @Nullable
+    private final Component message;
+
+    private FailureReason(Kind kind, int index, @Nullable Class<?> type, @Nullable ArgumentParser<?> parser, @Nullable String input, @Nullable Component message) {
+        this.kind = kind;
+        this.index = index;
+        this.type = type;
+        this.parser = parser;
+        this.input = input;
+        this.message = message;
+    }
+
+    /**
+     * A failed assertion.
+     *
+     * @param message The message sent to the sender
+     * @return The reason
+     */
+    @NotNull
+    public static FailureReason assertion(@Nullable Component message) {
+        return message == null ? ASSERTION : new FailureReason(Kind.ASSERTION, -1, null, null, null, message);
+    }
+
+    /**
+     * A missing or invalid argument.
+     *
+     * @param index The position of the argument
+     * @param type The expected type, if known
+     * @param parser The parser that rejected the argument, if any
+     * @param input The argument, or {@code null} if missing
+     * @param message The message sent to the sender
+     * @return The reason
+     */
+    @NotNull
+    public static FailureReason argument(int index, @Nullable Class<?> type, @Nullable ArgumentParser<?> parser, @Nullable String input, @Nullable Component message) {
+        return new FailureReason(Kind.INVALID_ARGUMENT, index, type, parser, input, message);
+    }
+
+    /**
+     * A numeric argument outside its bounds.
+     *
+     * @param index The position of the argument
+     * @param type The numeric type
+     * @param input The argument
+     * @param message The message sent to the sender
+     * @return The reason
+     */
+    @NotNull
+    public static FailureReason outOfRange(int index, @NotNull Class<?> type, @NotNull String input, @Nullable Component message) {
+        return new FailureReason(Kind.OUT_OF_RANGE, index, type, null, input, message);
+    }
+
+    /**
+     * An interruption without any further information.
+     *
+     * @return The reason
+     */
+    @NotNull
+    public static FailureReason interrupted() {
+        return INTERRUPTED;
+    }
+
+    /**
+     * The kind of failure.
+     *
+     * @return The kind
+     */
+    @NotNull
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * The position of the argument that caused the failure.
+     *
+     * @return The index, or {@code -1} if not caused by an argument
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * The expected type of the argument.
+     *
+     * @return The type, if caused by an argument
+     */
+    @NotNull
+    public Optional<Class<?>> type() {
+        return Optional.ofNullable(type);
+    }
+
+    /**
+     * The parser that rejected the argument.
+     *
+     * @return The parser, if caused by a parser
+     */
+    @NotNull
+    public Optional<ArgumentParser<?>> parser() {
+        return Optional.ofNullable(parser);
+    }
+
+    /**
+     * The argument as written by the sender.
+     *
+     * @return The input, if present
+     */
+    @NotNull
+    public Optional<String> input() {
+        return Optional.ofNullable(input);
+    }
+
+    /**
+     * The message sent to the sender.
+     *
+     * @return The message, if any
+     */
+    @NotNull
+    public Optional<Component> message() {
+        return Optional.ofNullable(message);
+    }
+
+    @Override
+    public String toString() {
+        return "FailureReason{kind=" + kind + (index >= 0 ? ", index=" + index : "") + (type != null ? ", type=" + type.getSimpleName() : "") + (input != null ? ", input=" + input : "") + "}";
+    }
+
+}
@@ -0,0 +1,337 @@
+package tsp.coex.command.scheduler;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.permission.PermissionCache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+/**
+ * Queues synchronous command executions and drains them on the main thread within a time budget per tick,
+ * turning spikes of heavy commands into added latency instead of lag.
+ *
+ * <p>
+ * Executions are queued per command and drained round-robin between commands, so one busy command can not starve the others.
+ * Console senders, and senders with the {@link Builder#priorityPermission(String) priority permission}, are drained first.
+ * Executions are rejected once their command has {@link Builder#maxQueued(int) too many} queued,
+ * or {@link Builder#maxPriorityQueued(int) too many} priority executions queued,
+ * in which case the sender is sent the {@link #getBusyMessage() busy message}.
+ * At least one execution runs per tick.
+ * </p>
+ *
+ * <pre>{@code
+ * CommandScheduler scheduler = CommandScheduler.builder(plugin).budget(Duration.ofMillis(10)).build();
+ * command.setScheduler(scheduler);
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ * @see tsp.coex.command.AbstractCommand#setScheduler(CommandScheduler)
+ */
+public final class CommandScheduler {
+
+    private final Plugin plugin;
+    private final long budget;
+    private final int maxQueued;
+    private final int maxPriorityQueued;
+    private final Component busyMessage;
+    @Nullable
+    private final String priorityPermission;
+
+    // Guarded by this
+    private final Map<Object, CommandQueue> queues = new HashMap<>();
+    private final List<CommandQueue> order = new ArrayList<>();
+    private int cursor;
+    private int size;
+    @Nullable
+    private BukkitTask task;
+
+    private CommandScheduler(Builder builder) {
+        this.plugin = builder.plugin;
+        this.budget = builder.budget;
+        this.maxQueued = builder.maxQueued;
+        this.maxPriorityQueued = builder.maxPriorityQueued;
+        this.busyMessage = builder.busyMessage;
+        this.priorityPermission = builder.priorityPermission;
+    }
+
+    /**
+     * Create a builder.
+     *
+     * @param plugin The plugin draining the queue
+     * @return The builder
+     */
+    @NotNull
+    public static Builder builder(@NotNull Plugin plugin) {
+        return new Builder(plugin);
+    }
+
+    /**
+     * Queue an execution. The drain task is started on first use.
+     *
+     * @param key The queue, usually the command instance
+     * @param sender The sender, used to determine priority
+     * @param task The execution
+     * @return Future completed once the execution has run
+     * @throws RejectedExecutionException If the queue is full
+     */
+    @NotNull
+    public CompletableFuture<Void> submit(@NotNull Object key, @NotNull CommandSender sender, @NotNull Runnable task) throws RejectedExecutionException {
+        boolean priority = isPriority(sender);
+        Entry entry = new Entry(task);
+        synchronized (this) {
+            CommandQueue queue = queues.get(key);
+            if (queue == null) {
+                queue = new CommandQueue();
+                queues.put(key, queue);
+                order.add(queue);
+            }
+
+            if (priority) {
+                if (queue.priority.size() >= maxPriorityQueued) {
+                    throw new RejectedExecutionException("Priority command queue for " + key + " is full!");
+                }
+                queue.priority.add(entry);
+            } else {
+                if (queue.normal.size() >= maxQueued) {
+                    throw new RejectedExecutionException("Command queue for " + key + " is full!");
+                }
+                queue.normal.add(entry);
+            }
+            size++;
+
+            if (this.task == null) {
+                this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 0L, 1L);
+            }
+        }
+        return entry.future;
+    }
+
+    private boolean isPriority(CommandSender sender) {
+        return sender instanceof ConsoleCommandSender || sender instanceof RemoteConsoleCommandSender || (priorityPermission != null && PermissionCache.hasPermission(sender, priorityPermission));
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + budget;
+        do {
+            Entry entry;
+            synchronized (this) {
+                entry = poll();
+            }
+            if (entry == null) {
+                return;
+            }
+
+            try {
+                entry.task.run();
+                entry.future.complete(null);
+            } catch (Throwable ex) {
+                entry.future.completeExceptionally(ex);
+                plugin.getLogger().log(Level.SEVERE, "Unhandled exception executing scheduled command", ex);
+            }
+        } while (System.nanoTime() - deadline < 0);
+    }
+
+    // Priority entries of every command first, then round-robin between commands
+    @Nullable
+    private Entry poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        int count = order.size();
+        for (int i = 0; i < count; i++) {
+            Entry entry = order.get((cursor + i) % count).priority.poll();
+            if (entry != null) {
+                size--;
+                return entry;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int index = (cursor + i) % count;
+            Entry entry = order.get(index).normal.poll();
+            if (entry != null) {
+                cursor = index + 1;
+                size--;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop draining. Queued executions are discarded and their futures completed exceptionally.
+     * The drain task restarts if another execution is submitted.
+     */
+    public void stop() {
+        List<Entry> discarded = new ArrayList<>();
+        synchronized (this) {
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+            for (CommandQueue queue : order) {
+                discarded.addAll(queue.priority);
+                discarded.addAll(queue.normal);
+                queue.priority.clear();
+                queue.normal.clear();
+            }
+            size = 0;
+        }
+
+        for (Entry entry : discarded) {
+            entry.future.completeExceptionally(new RejectedExecutionException("Command scheduler stopped!"));
+        }
+    }
+
+    /**
+     * The amount of queued executions.
+     *
+     * @return Queue size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * The message sent to senders whose execution was rejected.
+     *
+     * @return The message
+     */
+    @NotNull
+    public Component getBusyMessage() {
+        return busyMessage;
+    }
+
+    private static final class CommandQueue {
+
+        private final ArrayDeque<Entry> priority = new ArrayDeque<>();
+        private final ArrayDeque<Entry> normal = new ArrayDeque<>();
+
+    }
+
+    private static final class Entry {
+
+        private final Runnable task;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Entry(Runnable task) {
+            this.task = task;
+        }
+
+    }
+
+    /**
+     * Builds a {@link CommandScheduler}.
+     */
+    public static final class Builder {
+
+        private final Plugin plugin;
+        private long budget = Duration.ofMillis(5).toNanos();
+        private int maxQueued = 256;
+        private int maxPriorityQueued = 1024;
+        private Component busyMessage = Component.text("The server is busy, please try again shortly.").color(NamedTextColor.RED);
+        @Nullable
+        private String priorityPermission;
+
+        private Builder(Plugin plugin) {
+            this.plugin = plugin;
+        }
+
+        /**
+         * Set the time spent executing per tick, defaults to 5 milliseconds.
+         *
+         * @param budget The budget per tick
+         * @return This builder
+         */
+        @NotNull
+        public Builder budget(@NotNull Duration budget) {
+            if (budget.isNegative() || budget.isZero()) {
+                throw new IllegalArgumentException("Budget must be positive!");
+            }
+            this.budget = budget.toNanos();
+            return this;
+        }
+
+        /**
+         * Set the maximum amount of queued executions per command, defaults to 256.
+         *
+         * @param maxQueued The maximum
+         * @return This builder
+         */
+        @NotNull
+        public Builder maxQueued(int maxQueued) {
+            if (maxQueued < 1) {
+                throw new IllegalArgumentException("Max queued must be positive!");
+            }
+            this.maxQueued = maxQueued;
+            return this;
+        }
+
+        /**
+         * Set the maximum amount of queued priority executions per command, defaults to 1024.
+         *
+         * @param maxPriorityQueued The maximum
+         * @return This builder
+         */
+        @NotNull
+        public Builder maxPriorityQueued(int maxPriorityQueued) {
+            if (maxPriorityQueued < 1) {
+                throw new IllegalArgumentException("Max priority queued must be positive!");
+            }
+            this.maxPriorityQueued = maxPriorityQueued;
+            return this;
+        }
+
+        /**
+         * Set the message sent to senders whose execution was rejected.
+         *
+         * @param busyMessage The message
+         * @return This builder
+         */
+        @NotNull
+        public Builder busyMessage(@NotNull Component busyMessage) {
+            this.busyMessage = busyMessage;
+            return this;
+        }
+
+        /**
+         * Set a permission granting priority, in addition to console senders.
+         *
+         * @param priorityPermission The permission, or {@code null} for console senders only
+         * @return This builder
+         */
+        @NotNull
+        public Builder priorityPermission(@Nullable String priorityPermission) {
+            this.priorityPermission = priorityPermission;
+            return this;
+        }
+
+        /**
+         * Build the scheduler.
+         *
+         * @return The scheduler
+         */
+        @NotNull
+        public CommandScheduler build() {
+            return new CommandScheduler(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package tsp.coex.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+import tsp.coex.command.argument.parser.ArgumentParser;
+
+/**
+ * A {@link CommandNode} matching a typed argument.
+ *
+ * @param <T> The type of the argument
+ * @author TheSilentPro (Silent)
+ */
+public class ArgumentNode<T> extends CommandNode {
+
+    private final String name;
+    private final ArgumentParser<T> parser;
+
+    public ArgumentNode(@NotNull String name, @NotNull ArgumentParser<T> parser) {
+        this.name = name;
+        this.parser = parser;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public ArgumentParser<T> getParser() {
+        return parser;
+    }
+
+}
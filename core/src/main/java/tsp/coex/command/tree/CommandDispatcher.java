@@ -0,0 +1,207 @@
+package tsp.coex.command.tree;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.context.CommandContext;
+import tsp.coex.command.message.MessageTemplate;
+import tsp.coex.command.result.FailureReason;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Routes a {@link CommandContext} through a tree of {@link CommandNode nodes}.
+ * Each level costs one map lookup for literals (plus a parse per argument child), so the cost depends on depth and not the amount of subcommands.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class CommandDispatcher {
+
+    private final CommandNode root;
+    @Nullable
+    private MessageTemplate usageMessage;
+    @Nullable
+    private MessageTemplate unknownArgumentMessage;
+
+    public CommandDispatcher(@NotNull CommandNode root) {
+        this.root = root;
+    }
+
+    @NotNull
+    public CommandNode getRoot() {
+        return root;
+    }
+
+    @NotNull
+    public Optional<MessageTemplate> getUsageMessage() {
+        return Optional.ofNullable(usageMessage);
+    }
+
+    /**
+     * Set the message sent when the reached node has no executor, e.g. {@code <red>Usage: {usage}}.
+     * The {@code {usage}} placeholder is replaced by the usage of the node, see {@link #dispatch(CommandContext)}.
+     *
+     * @param usageMessage The message, or {@code null} to send nothing
+     * @return This dispatcher
+     */
+    public CommandDispatcher setUsageMessage(@Nullable Component usageMessage) {
+        this.usageMessage = usageMessage != null ? MessageTemplate.compile(usageMessage, "usage") : null;
+        return this;
+    }
+
+    @NotNull
+    public Optional<MessageTemplate> getUnknownArgumentMessage() {
+        return Optional.ofNullable(unknownArgumentMessage);
+    }
+
+    /**
+     * Set the message sent when an argument matches no child of the node, e.g. {@code <red>Unknown argument: {argument}<newline>Usage: {usage}}.
+     * The {@code {argument}} placeholder is replaced by the argument and {@code {usage}} by the usage of the node.
+     *
+     * @param unknownArgumentMessage The message, or {@code null} to send the {@link #setUsageMessage(Component) usage message}
+     * @return This dispatcher
+     */
+    public CommandDispatcher setUnknownArgumentMessage(@Nullable Component unknownArgumentMessage) {
+        this.unknownArgumentMessage = unknownArgumentMessage != null ? MessageTemplate.compile(unknownArgumentMessage, "argument", "usage") : null;
+        return this;
+    }
+
+    /**
+     * Dispatch the context to the deepest matching node and run its executor.
+     * Fails the context (see {@link CommandContext#fail(FailureReason)}) if a node is not permitted,
+     * an argument does not match or the reached node has no executor.
+     * The configured messages are rendered with the usage of the last matched node, listing the subcommands and arguments it accepts,
+     * and nothing is sent if they are not set.
+     *
+     * @param ctx The context
+     */
+    public void dispatch(@NotNull CommandContext<CommandSender> ctx) {
+        List<String> args = ctx.rawArgs();
+        NodeArguments arguments = new NodeArguments(args.size());
+
+        CommandNode node = root;
+        assertPermitted(ctx, node);
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            CommandNode next = route(node, arg, arguments);
+            if (next == null) {
+                MessageTemplate unknownArgumentMessage = this.unknownArgumentMessage;
+                Component message = unknownArgumentMessage != null ? unknownArgumentMessage.render(arg, usage(ctx, node, i)) : usageMessage(ctx, node, i);
+                throw ctx.fail(FailureReason.argument(i, null, null, arg, message));
+            }
+
+            assertPermitted(ctx, next);
+            node = next;
+        }
+
+        Optional<NodeExecutor> executor = node.getExecutor();
+        if (executor.isEmpty()) {
+            throw ctx.fail(FailureReason.assertion(usageMessage(ctx, node, args.size())));
+        }
+        executor.get().execute(ctx, arguments);
+    }
+
+    @Nullable
+    private Component usageMessage(CommandContext<CommandSender> ctx, CommandNode node, int matched) {
+        MessageTemplate usageMessage = this.usageMessage;
+        return usageMessage != null ? usageMessage.render(usage(ctx, node, matched)) : null;
+    }
+
+    /**
+     * The usage of a node: the label and matched arguments followed by the children the sender may use, e.g. {@code /home <set|delete|<name>>}.
+     */
+    private String usage(CommandContext<CommandSender> ctx, CommandNode node, int matched) {
+        StringBuilder usage = new StringBuilder("/").append(ctx.label());
+        List<String> args = ctx.rawArgs();
+        for (int i = 0; i < matched; i++) {
+            usage.append(' ').append(args.get(i));
+        }
+
+        List<String> children = new ArrayList<>();
+        for (Map.Entry<String, LiteralNode> entry : node.getLiterals().entrySet()) {
+            if (entry.getValue().canUse(ctx.sender())) {
+                children.add(entry.getKey());
+            }
+        }
+        for (ArgumentNode<?> argument : node.getArguments()) {
+            if (argument.canUse(ctx.sender())) {
+                children.add("<" + argument.getName() + ">");
+            }
+        }
+        if (children.size() == 1) {
+            usage.append(' ').append(children.get(0));
+        } else if (!children.isEmpty()) {
+            usage.append(" <").append(String.join("|", children)).append('>');
+        }
+
+        return usage.toString();
+    }
+
+    /**
+     * Suggest completions for the last argument of the context, from literal children and argument parsers.
+     *
+     * @param ctx The context
+     * @return List of completions
+     */
+    @NotNull
+    public List<String> suggest(@NotNull CommandContext<CommandSender> ctx) {
+        List<String> args = ctx.rawArgs();
+        if (args.isEmpty()) {
+            return List.of();
+        }
+
+        CommandNode node = root;
+        NodeArguments ignored = new NodeArguments(args.size());
+        for (int i = 0; i < args.size() - 1; i++) {
+            node = route(node, args.get(i), ignored);
+            if (node == null || !node.canUse(ctx.sender())) {
+                return List.of();
+            }
+        }
+
+        String input = args.get(args.size() - 1);
+        String prefix = input.toLowerCase(Locale.ROOT);
+        List<String> suggestions = new ArrayList<>();
+        for (Map.Entry<String, LiteralNode> entry : node.getLiterals().entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getValue().canUse(ctx.sender())) {
+                suggestions.add(entry.getKey());
+            }
+        }
+        for (ArgumentNode<?> argument : node.getArguments()) {
+            if (argument.canUse(ctx.sender())) {
+                suggestions.addAll(argument.getParser().suggest(ctx.sender(), input));
+            }
+        }
+        return suggestions;
+    }
+
+    @Nullable
+    private CommandNode route(CommandNode node, String arg, NodeArguments arguments) {
+        LiteralNode literal = node.getLiteral(arg);
+        if (literal != null) {
+            return literal;
+        }
+
+        for (ArgumentNode<?> argument : node.getArguments()) {
+            Optional<?> value = argument.getParser().parse(arg);
+            if (value.isPresent()) {
+                arguments.put(argument.getName(), value.get());
+                return argument;
+            }
+        }
+
+        return null;
+    }
+
+    private void assertPermitted(CommandContext<CommandSender> ctx, CommandNode node) {
+        if (!node.canUse(ctx.sender())) {
+            ctx.assertion(false, node.getPermissionMessage().orElse(null));
+        }
+    }
+
+}
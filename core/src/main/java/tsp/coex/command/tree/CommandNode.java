@@ -0,0 +1,188 @@
+package tsp.coex.command.tree;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.coex.command.argument.parser.ArgumentParser;
+import tsp.coex.command.argument.parser.ArgumentParsers;
+import tsp.coex.command.permission.PermissionCache;
+
+import java.util.*;
+
+/**
+ * Represents a node in a command tree.
+ * Literal children are keyed by their (lower-case) literal, so routing a subcommand is a single map lookup per level.
+ *
+ * @author TheSilentPro (Silent)
+ * @see CommandDispatcher
+ */
+public abstract class CommandNode {
+
+    private final Map<String, LiteralNode> literals = new HashMap<>();
+    private final List<ArgumentNode<?>> arguments = new ArrayList<>();
+
+    @Nullable
+    private String permission;
+    @Nullable
+    private Component permissionMessage;
+    @Nullable
+    private NodeExecutor executor;
+
+    /**
+     * Create a new literal node.
+     *
+     * @param literal The literal
+     * @return The node
+     */
+    @NotNull
+    public static LiteralNode literal(@NotNull String literal) {
+        return new LiteralNode(literal);
+    }
+
+    /**
+     * Create a new argument node using the provided parser.
+     *
+     * @param name The name of the argument
+     * @param parser The parser
+     * @return The node
+     * @param <T> The type of argument
+     */
+    @NotNull
+    public static <T> ArgumentNode<T> argument(@NotNull String name, @NotNull ArgumentParser<T> parser) {
+        return new ArgumentNode<>(name, parser);
+    }
+
+    /**
+     * Create a new argument node, the parser is resolved once from {@link ArgumentParsers}.
+     *
+     * @param name The name of the argument
+     * @param type The type of the argument
+     * @return The node
+     * @param <T> The type of argument
+     */
+    @NotNull
+    public static <T> ArgumentNode<T> argument(@NotNull String name, @NotNull Class<T> type) {
+        return argument(name, ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type)));
+    }
+
+    /**
+     * The name of this node.
+     *
+     * @return The name
+     */
+    @NotNull
+    public abstract String getName();
+
+    /**
+     * Add a child node.
+     * Literal children are matched before argument children, argument children are tried in insertion order.
+     *
+     * @param child The child node
+     * @return This node
+     */
+    public CommandNode then(@NotNull CommandNode child) {
+        if (child instanceof LiteralNode literal) {
+            literals.put(literal.key(), literal);
+            for (String alias : literal.getAliases()) {
+                literals.put(alias, literal);
+            }
+        } else if (child instanceof ArgumentNode<?> argument) {
+            arguments.add(argument);
+        } else {
+            throw new IllegalArgumentException("Unsupported node type: " + child.getClass().getName());
+        }
+        return this;
+    }
+
+    /**
+     * Set the executor for this node.
+     *
+     * @param executor The executor
+     * @return This node
+     */
+    public CommandNode executes(@Nullable NodeExecutor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Set the permission required to reach this node.
+     *
+     * @param permission The permission
+     * @return This node
+     */
+    public CommandNode requires(@Nullable String permission) {
+        return requires(permission, null);
+    }
+
+    /**
+     * Set the permission required to reach this node.
+     *
+     * @param permission The permission
+     * @param permissionMessage The message sent if the sender does not have permission
+     * @return This node
+     */
+    public CommandNode requires(@Nullable String permission, @Nullable Component permissionMessage) {
+        this.permission = permission;
+        this.permissionMessage = permissionMessage;
+        return this;
+    }
+
+    /**
+     * Find a literal child.
+     *
+     * @param input The raw input
+     * @return The child, or {@code null} if not found
+     */
+    @Nullable
+    public LiteralNode getLiteral(@NotNull String input) {
+        return literals.get(input.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The literal children of this node, including aliases.
+     *
+     * @return Unmodifiable map of literal children
+     */
+    @NotNull
+    public Map<String, LiteralNode> getLiterals() {
+        return Collections.unmodifiableMap(literals);
+    }
+
+    /**
+     * The argument children of this node.
+     *
+     * @return Unmodifiable list of argument children
+     */
+    @NotNull
+    public List<ArgumentNode<?>> getArguments() {
+        return Collections.unmodifiableList(arguments);
+    }
+
+    @NotNull
+    public Optional<String> getPermission() {
+        return Optional.ofNullable(permission);
+    }
+
+    @NotNull
+    public Optional<Component> getPermissionMessage() {
+        return Optional.ofNullable(permissionMessage);
+    }
+
+    @NotNull
+    public Optional<NodeExecutor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+    /**
+     * Check whether a sender may use this node.
+     *
+     * @param sender The sender
+     * @return True if permitted
+     */
+    public boolean canUse(@NotNull CommandSender sender) {
+        return permission == null || PermissionCache.hasPermission(sender, permission);
+    }
+
+}
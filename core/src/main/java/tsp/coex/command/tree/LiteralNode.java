@@ -0,0 +1,52 @@
+package tsp.coex.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@link CommandNode} matching a fixed (case-insensitive) word, i.e. a subcommand.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class LiteralNode extends CommandNode {
+
+    private final String literal;
+    private final String key;
+    private List<String> aliases = List.of();
+
+    public LiteralNode(@NotNull String literal) {
+        this.literal = literal;
+        this.key = literal.toLowerCase(Locale.ROOT);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return literal;
+    }
+
+    /**
+     * Set the aliases of this literal.
+     * Aliases must be set before this node is added to its parent.
+     *
+     * @param aliases The aliases
+     * @return This node
+     */
+    public LiteralNode aliases(@NotNull String... aliases) {
+        this.aliases = Arrays.stream(aliases).map(alias -> alias.toLowerCase(Locale.ROOT)).toList();
+        return this;
+    }
+
+    @NotNull
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    String key() {
+        return key;
+    }
+
+}
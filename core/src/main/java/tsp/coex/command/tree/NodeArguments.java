@@ -0,0 +1,76 @@
+package tsp.coex.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The values parsed by the {@link ArgumentNode argument nodes} along a dispatch path.
+ * Backed by arrays since a path rarely holds more than a handful of arguments.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class NodeArguments {
+
+    private String[] names;
+    private Object[] values;
+    private int size;
+
+    NodeArguments(int capacity) {
+        this.names = new String[Math.max(capacity, 1)];
+        this.values = new Object[names.length];
+    }
+
+    void put(String name, Object value) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        names[size] = name;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Get a parsed argument.
+     *
+     * @param name The name of the argument node
+     * @param type The type of the argument
+     * @return The value, if present
+     * @param <T> The type of argument
+     */
+    @NotNull
+    public <T> Optional<T> find(@NotNull String name, @NotNull Class<T> type) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name) && type.isInstance(values[i])) {
+                return Optional.of(type.cast(values[i]));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get a parsed argument, otherwise fail.
+     *
+     * @param name The name of the argument node
+     * @param type The type of the argument
+     * @return The value
+     * @param <T> The type of argument
+     */
+    @NotNull
+    public <T> T get(@NotNull String name, @NotNull Class<T> type) throws NoSuchElementException {
+        return find(name, type).orElseThrow(() -> new NoSuchElementException("No argument named " + name + " of type " + type.getName()));
+    }
+
+    /**
+     * The amount of parsed arguments.
+     *
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+}
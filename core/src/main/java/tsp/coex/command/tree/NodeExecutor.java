@@ -0,0 +1,22 @@
+package tsp.coex.command.tree;
+
+import org.bukkit.command.CommandSender;
+import tsp.coex.command.context.CommandContext;
+
+/**
+ * Executed once the {@link CommandDispatcher} reaches a {@link CommandNode}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@FunctionalInterface
+public interface NodeExecutor {
+
+    /**
+     * Execute the node.
+     *
+     * @param ctx The {@link CommandContext}
+     * @param arguments The arguments parsed along the path to the node
+     */
+    void execute(CommandContext<CommandSender> ctx, NodeArguments arguments);
+
+}
@@ -0,0 +1,377 @@
+package tsp.coex.command.usage;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * An immutable, precompiled representation of a usage format such as {@code <player> <amount:int> [reason]}.
+ * The format is parsed once, so validation, usage messages and tab completion do not need to re-split the usage string.
+ *
+ * <p>
+ * Each whitespace separated part is a {@link Slot slot}.
+ * Parts wrapped in square brackets ({@code []}) are optional, everything else is assumed to be required.
+ * A slot may declare a type after a colon, e.g. {@code <target:player>}.
+ * </p>
+ *
+ * <p>
+ * By default a slot is a single space separated word. A slot named in double quotes, e.g. {@code <"lore">}, accepts a quoted string with escapes,
+ * and a slot name ending in {@code ...}, e.g. {@code <message...>}, takes the remaining input. Only the last slot may be greedy.
+ * See {@link tsp.coex.command.context.TokenizedInput}.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class UsageSchema {
+
+    private static final Map<String, Class<?>> TYPES = new HashMap<>();
+
+    static {
+        TYPES.put("string", String.class);
+        TYPES.put("number", Number.class);
+        TYPES.put("int", Integer.class);
+        TYPES.put("integer", Integer.class);
+        TYPES.put("long", Long.class);
+        TYPES.put("float", Float.class);
+        TYPES.put("double", Double.class);
+        TYPES.put("byte", Byte.class);
+        TYPES.put("boolean", Boolean.class);
+        TYPES.put("bool", Boolean.class);
+        TYPES.put("uuid", UUID.class);
+        TYPES.put("player", Player.class);
+        TYPES.put("offlineplayer", OfflinePlayer.class);
+        TYPES.put("world", World.class);
+        TYPES.put("duration", Duration.class);
+        TYPES.put("component", Component.class);
+    }
+
+    private final String usage;
+    private final Slot[] slots;
+    private final List<Slot> slotList;
+    private final int required;
+    private final boolean tokenized;
+
+    private UsageSchema(String usage, Slot[] slots, int required, boolean tokenized) {
+        this.usage = usage;
+        this.slots = slots;
+        this.slotList = List.of(slots);
+        this.required = required;
+        this.tokenized = tokenized;
+    }
+
+    /**
+     * Compile a usage format.
+     *
+     * @param usage The usage format
+     * @return The compiled schema
+     * @throws IllegalArgumentException If a greedy slot is not the last slot
+     */
+    @NotNull
+    public static UsageSchema compile(@NotNull String usage) throws IllegalArgumentException {
+        List<Slot> slots = new ArrayList<>();
+        int required = 0;
+        boolean tokenized = false;
+
+        int length = usage.length();
+        int i = 0;
+        while (i < length) {
+            if (usage.charAt(i) == ' ') {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < length && usage.charAt(i) != ' ') {
+                i++;
+            }
+
+            if (!slots.isEmpty() && slots.get(slots.size() - 1).kind() == Slot.Kind.GREEDY) {
+                throw new IllegalArgumentException("Only the last slot may be greedy: " + usage);
+            }
+
+            Slot slot = Slot.of(slots.size(), usage.substring(start, i));
+            if (slot.isRequired()) {
+                required++;
+            }
+            if (slot.kind() != Slot.Kind.WORD) {
+                tokenized = true;
+            }
+            slots.add(slot);
+        }
+
+        return new UsageSchema(usage, slots.toArray(new Slot[0]), required, tokenized);
+    }
+
+    /**
+     * The usage format this schema was compiled from.
+     *
+     * @return The usage format
+     */
+    @NotNull
+    public String usage() {
+        return usage;
+    }
+
+    /**
+     * The amount of required slots.
+     *
+     * @return Required slots
+     */
+    public int required() {
+        return required;
+    }
+
+    /**
+     * The amount of optional slots.
+     *
+     * @return Optional slots
+     */
+    public int optional() {
+        return slots.length - required;
+    }
+
+    /**
+     * The total amount of slots.
+     *
+     * @return Slot count
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Get a slot by its position.
+     *
+     * @param index The position of the slot
+     * @return The slot, or {@code null} if out of bounds
+     */
+    @Nullable
+    public Slot slot(int index) {
+        if (index < 0 || index >= slots.length) {
+            return null;
+        }
+        return slots[index];
+    }
+
+    /**
+     * All slots of this schema, in order.
+     *
+     * @return Unmodifiable list of slots
+     */
+    @NotNull
+    public List<Slot> slots() {
+        return slotList;
+    }
+
+    /**
+     * Whether any slot is quoted or greedy, meaning arguments must be {@link tsp.coex.command.context.TokenizedInput tokenized}
+     * instead of taken as split by the server.
+     *
+     * @return True if tokenized
+     */
+    public boolean isTokenized() {
+        return tokenized;
+    }
+
+    /**
+     * Check whether the provided amount of arguments satisfies the required slots.
+     *
+     * @param arguments The amount of arguments
+     * @return Whether the arguments match this schema
+     */
+    public boolean matches(int arguments) {
+        return arguments >= required;
+    }
+
+    /**
+     * Build the full usage line for a label, e.g. {@code /label <player> [reason]}.
+     *
+     * @param label The command label
+     * @return The usage line
+     */
+    @NotNull
+    public String usageLine(@NotNull String label) {
+        return "/" + label + " " + usage;
+    }
+
+    @Override
+    public String toString() {
+        return usage;
+    }
+
+    /**
+     * Represents a single part of a {@link UsageSchema}.
+     */
+    public static final class Slot {
+
+        /**
+         * How a slot consumes input.
+         */
+        public enum Kind {
+
+            /**
+             * A single space separated word.
+             */
+            WORD,
+
+            /**
+             * A single word, or a string wrapped in double quotes that may contain spaces and backslash escapes.
+             */
+            QUOTED,
+
+            /**
+             * Everything remaining, including spaces.
+             */
+            GREEDY
+
+        }
+
+        private final int index;
+        private final String token;
+        private final String name;
+        private final boolean required;
+        private final Kind kind;
+        @Nullable
+        private final String typeName;
+        @Nullable
+        private final Class<?> type;
+        private final List<String> hint;
+
+        private Slot(int index, String token, String name, boolean required, Kind kind, @Nullable String typeName, @Nullable Class<?> type) {
+            this.index = index;
+            this.token = token;
+            this.name = name;
+            this.required = required;
+            this.kind = kind;
+            this.typeName = typeName;
+            this.type = type;
+            this.hint = List.of(required ? "<" + name + ">" : "[" + name + "]");
+        }
+
+        private static Slot of(int index, String token) {
+            boolean required = !token.startsWith("[") && !token.endsWith("]"); // Even if it doesn't have arrow brackets("<>"), assume the argument is required.
+
+            int start = 0;
+            int end = token.length();
+            if (end > 0 && (token.charAt(0) == '<' || token.charAt(0) == '[')) {
+                start++;
+            }
+            if (end > start && (token.charAt(end - 1) == '>' || token.charAt(end - 1) == ']')) {
+                end--;
+            }
+
+            Kind kind = Kind.WORD;
+            if (end - start > 3 && token.startsWith("...", end - 3)) {
+                kind = Kind.GREEDY;
+                end -= 3;
+            } else if (end - start > 2 && token.charAt(start) == '"' && token.charAt(end - 1) == '"') {
+                kind = Kind.QUOTED;
+                start++;
+                end--;
+            }
+
+            String name = token.substring(start, end);
+            String typeName = null;
+            Class<?> type = null;
+            int colon = name.indexOf(':');
+            if (colon >= 0) {
+                typeName = name.substring(colon + 1);
+                type = TYPES.get(typeName.toLowerCase(Locale.ROOT));
+                name = name.substring(0, colon);
+            }
+
+            return new Slot(index, token, name, required, kind, typeName, type);
+        }
+
+        /**
+         * The position of this slot.
+         *
+         * @return The position
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * The raw part of the usage format this slot was compiled from.
+         *
+         * @return The raw token
+         */
+        @NotNull
+        public String token() {
+            return token;
+        }
+
+        /**
+         * The name of this slot, without brackets or type.
+         *
+         * @return The name
+         */
+        @NotNull
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Whether this slot is required.
+         *
+         * @return True if required
+         */
+        public boolean isRequired() {
+            return required;
+        }
+
+        /**
+         * How this slot consumes input.
+         *
+         * @return The kind
+         */
+        @NotNull
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * The declared type name, e.g. {@code int} in {@code <amount:int>}.
+         *
+         * @return The type name, if declared
+         */
+        @NotNull
+        public Optional<String> typeName() {
+            return Optional.ofNullable(typeName);
+        }
+
+        /**
+         * The resolved type of this slot.
+         *
+         * @return The type, if declared and known
+         */
+        @NotNull
+        public Optional<Class<?>> type() {
+            return Optional.ofNullable(type);
+        }
+
+        /**
+         * A tab completion hint for this slot, e.g. {@code <amount>}.
+         *
+         * @return Unmodifiable single element list
+         */
+        @NotNull
+        public List<String> hint() {
+            return hint;
+        }
+
+        @Override
+        public String toString() {
+            return token;
+        }
+
+    }
+
+}
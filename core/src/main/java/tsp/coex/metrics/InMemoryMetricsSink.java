@@ -0,0 +1,164 @@
+package tsp.coex.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsSink} keeping counters and {@link LatencyHistogram histograms} in memory.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class InMemoryMetricsSink implements MetricsSink {
+
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LatencyHistogram> parsers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void command(@NotNull String command, @NotNull Outcome outcome, long nanos) {
+        CommandStats stats = stats(command);
+        stats.outcomes.get(outcome).increment();
+        stats.latency.record(nanos);
+    }
+
+    @Override
+    public void tabComplete(@NotNull String command, long nanos) {
+        stats(command).completions.record(nanos);
+    }
+
+    @Override
+    public void parse(@NotNull Class<?> type, long nanos) {
+        LatencyHistogram histogram = parsers.get(type);
+        if (histogram == null) {
+            histogram = parsers.computeIfAbsent(type, t -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    @Override
+    public void count(@NotNull String name, long delta) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, n -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    /**
+     * Statistics per command name.
+     *
+     * @return Unmodifiable view of command statistics
+     */
+    @NotNull
+    public Map<String, CommandStats> getCommands() {
+        return Collections.unmodifiableMap(commands);
+    }
+
+    /**
+     * Parse latency per argument type.
+     *
+     * @return Unmodifiable view of parse histograms
+     */
+    @NotNull
+    public Map<Class<?>, LatencyHistogram> getParsers() {
+        return Collections.unmodifiableMap(parsers);
+    }
+
+    /**
+     * Generic counters.
+     *
+     * @return Unmodifiable view of counters
+     */
+    @NotNull
+    public Map<String, LongAdder> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Clear all statistics.
+     */
+    public void reset() {
+        commands.clear();
+        parsers.clear();
+        counters.clear();
+    }
+
+    private CommandStats stats(String command) {
+        CommandStats stats = commands.get(command);
+        if (stats == null) {
+            stats = commands.computeIfAbsent(command, c -> new CommandStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Statistics of a single command.
+     */
+    public static final class CommandStats {
+
+        private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram completions = new LatencyHistogram();
+
+        private CommandStats() {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        /**
+         * The amount of invocations with an outcome.
+         *
+         * @param outcome The outcome
+         * @return The count
+         */
+        public long count(@NotNull Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+
+        /**
+         * The total amount of invocations.
+         *
+         * @return The count
+         */
+        public long invocations() {
+            return latency.count();
+        }
+
+        /**
+         * The amount of failed invocations.
+         *
+         * @return The count
+         */
+        public long failures() {
+            return invocations() - count(Outcome.SUCCESS);
+        }
+
+        /**
+         * Invocation latency in nanoseconds.
+         *
+         * @return The histogram
+         */
+        @NotNull
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        /**
+         * Tab completion latency in nanoseconds.
+         *
+         * @return The histogram
+         */
+        @NotNull
+        public LatencyHistogram completions() {
+            return completions;
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package tsp.coex.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives command metrics.
+ * Implementations must be thread-safe, metrics are recorded from asynchronous handlers and completions as well.
+ *
+ * @author TheSilentPro (Silent)
+ * @see CommandMetrics
+ */
+public interface MetricsSink {
+
+    /**
+     * A sink that discards everything.
+     */
+    MetricsSink NOOP = new MetricsSink() {
+        @Override
+        public void command(@NotNull String command, @NotNull Outcome outcome, long nanos) {}
+
+        @Override
+        public void tabComplete(@NotNull String command, long nanos) {}
+
+        @Override
+        public void parse(@NotNull Class<?> type, long nanos) {}
+    };
+
+    /**
+     * Record a command invocation.
+     *
+     * @param command The command name
+     * @param outcome The outcome
+     * @param nanos The time taken in nanoseconds
+     */
+    void command(@NotNull String command, @NotNull Outcome outcome, long nanos);
+
+    /**
+     * Record a tab completion.
+     *
+     * @param command The command name
+     * @param nanos The time taken in nanoseconds
+     */
+    void tabComplete(@NotNull String command, long nanos);
+
+    /**
+     * Record an argument parse.
+     *
+     * @param type The argument type
+     * @param nanos The time taken in nanoseconds
+     */
+    void parse(@NotNull Class<?> type, long nanos);
+
+    /**
+     * Record a generic counter, e.g. cache hits.
+     *
+     * @param name The counter name
+     * @param delta The amount to add
+     */
+    default void count(@NotNull String name, long delta) {}
+
+}
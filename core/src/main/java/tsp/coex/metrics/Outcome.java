@@ -0,0 +1,45 @@
+package tsp.coex.metrics;
+
+/**
+ * The outcome of a command invocation.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public enum Outcome {
+
+    /**
+     * The handler completed.
+     */
+    SUCCESS,
+
+    /**
+     * The sender did not have permission.
+     */
+    PERMISSION_DENIED,
+
+    /**
+     * The arguments did not match the usage format.
+     */
+    USAGE_MISMATCH,
+
+    /**
+     * The sender was on cooldown.
+     */
+    RATE_LIMITED,
+
+    /**
+     * The command was rejected because its scheduler queue was full.
+     */
+    REJECTED,
+
+    /**
+     * The handler failed an assertion.
+     */
+    INTERRUPTED,
+
+    /**
+     * The handler threw an unexpected exception.
+     */
+    FAILED
+
+}
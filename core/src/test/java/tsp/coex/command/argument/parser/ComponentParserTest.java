@@ -0,0 +1,91 @@
+package tsp.coex.command.argument.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentParserTest {
+
+    private final ComponentParser parser = ComponentParser.builder()
+            .allow("color", "bold")
+            .restrict("gradient", "test.gradient")
+            .maxDepth(2)
+            .maxLength(64)
+            .build();
+
+    @Test
+    void allowsWhitelistedTags() {
+        assertTrue(parser.parse("<red>Hello <bold>world</bold>").isPresent());
+        assertTrue(parser.parse("<#ff0000>Hello").isPresent());
+        assertTrue(parser.parse("plain text").isPresent());
+    }
+
+    @Test
+    void rejectsTagsOutsideWhitelist() {
+        assertFalse(parser.parse("<click:run_command:'/op me'>x").isPresent());
+        assertFalse(parser.parse("<italic>x").isPresent());
+    }
+
+    @Test
+    void rejectsRestrictedTagWithoutPermission() {
+        assertFalse(parser.parse("<gradient:red:blue>x").isPresent());
+    }
+
+    @Test
+    void rejectsTagAfterLoneBracket() {
+        assertFalse(parser.parse("<<click:run_command:'/op me'>x").isPresent());
+        assertFalse(parser.parse("a < b <click:run_command:'/op me'>x").isPresent());
+        assertFalse(parser.parse("<<<<hover:show_text:'hi'>x").isPresent());
+    }
+
+    @Test
+    void rejectsTagAfterEscape() {
+        assertFalse(parser.parse("\\<b><click:run_command:'/op me'>x").isPresent());
+    }
+
+    @Test
+    void rejectsQuotedBracketBeforeTag() {
+        assertFalse(parser.parse("<bold:'<'><click:run_command:'/op me'>x").isPresent());
+    }
+
+    @Test
+    void enforcesDepthAfterLoneBracket() {
+        assertTrue(parser.parse("<bold><red>x").isPresent());
+        assertFalse(parser.parse("<bold><red><bold>x").isPresent());
+        assertFalse(parser.parse("<<bold><red><bold>x").isPresent());
+    }
+
+    @Test
+    void closingTagsReduceDepth() {
+        assertTrue(parser.parse("<bold>a</bold><bold>b</bold><bold>c</bold>").isPresent());
+    }
+
+    @Test
+    void unmatchedClosingTagsKeepDepth() {
+        assertFalse(parser.parse("<bold></x><bold></x><bold></x>x").isPresent());
+        assertFalse(parser.parse("<bold></red><red></italic><bold>x").isPresent());
+        assertFalse(ComponentParser.DEFAULT.parse("<bold></x>".repeat(20) + "x").isPresent());
+    }
+
+    @Test
+    void closingOuterTagClosesInnerTags() {
+        assertTrue(parser.parse("<bold><red>a</bold><bold><red>b").isPresent());
+        assertFalse(parser.parse("<bold><red>a</red></red><bold><red>b").isPresent());
+    }
+
+    @Test
+    void rejectsLongInput() {
+        assertFalse(parser.parse("a".repeat(65)).isPresent());
+        assertFalse(parser.parse("").isPresent());
+    }
+
+    @Test
+    void cachedInputIsCheckedAgain() {
+        assertTrue(parser.parse("<red>x").isPresent());
+        assertTrue(parser.parse("<red>x").isPresent());
+        assertFalse(parser.parse("<italic>x").isPresent());
+        assertFalse(parser.parse("<italic>x").isPresent());
+    }
+
+}
@@ -0,0 +1,77 @@
+package tsp.coex.command.argument.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DurationParserTest {
+
+    private static Duration parse(String input) {
+        return DurationParser.parseSafely(input).orElseThrow();
+    }
+
+    @Test
+    void plainNumberIsSeconds() {
+        assertEquals(Duration.ZERO, parse("0"));
+        assertEquals(Duration.ofSeconds(90), parse("90"));
+        assertEquals(Duration.ofSeconds(999_999_999), parse("999999999"));
+        assertEquals(Duration.ofSeconds(Integer.MAX_VALUE), parse("2147483647"));
+    }
+
+    @Test
+    void parsesUnits() {
+        assertEquals(Duration.ofHours(26), parse("1d2h"));
+        assertEquals(Duration.ofDays(23), parse("3 weeks, 2 days"));
+        assertEquals(Duration.ofMinutes(5), parse("5m"));
+        assertEquals(ChronoUnit.MONTHS.getDuration().multipliedBy(5), parse("5mo"));
+        assertEquals(ChronoUnit.YEARS.getDuration(), parse("1Y"));
+        assertEquals(Duration.ofSeconds(3661), parse("1 HOUR 1 minute 1"));
+    }
+
+    @Test
+    void lenientIgnoresSurroundingText() {
+        assertEquals(Duration.ofMinutes(5), parse("in 5m please"));
+        assertEquals(Duration.ofMinutes(5), parse("5 minutes!"));
+    }
+
+    @Test
+    void strictRejectsSurroundingText() {
+        assertEquals(Optional.of(Duration.ofMinutes(5)), DurationParser.parseSafely("5m", true));
+        assertFalse(DurationParser.parseSafely("in 5m", true).isPresent());
+        assertFalse(DurationParser.parseSafely("5m please", true).isPresent());
+    }
+
+    @Test
+    void rejectsInputWithoutNumber() {
+        assertFalse(DurationParser.parseSafely(null).isPresent());
+        assertFalse(DurationParser.parseSafely("").isPresent());
+        assertFalse(DurationParser.parseSafely("d").isPresent());
+        assertFalse(DurationParser.parseSafely("minutes").isPresent());
+        assertThrows(IllegalArgumentException.class, () -> DurationParser.parse("abc"));
+    }
+
+    @Test
+    void rejectsNumbersAboveIntRange() {
+        assertFalse(DurationParser.parseSafely("2147483648").isPresent());
+        assertFalse(DurationParser.parseSafely("2147483648s").isPresent());
+        assertFalse(DurationParser.parseSafely("99999999999999999999999d").isPresent());
+    }
+
+    @Test
+    void largestAmountOfLargestUnitFits() {
+        assertEquals(ChronoUnit.YEARS.getDuration().multipliedBy(Integer.MAX_VALUE), parse("2147483647y"));
+    }
+
+    @Test
+    void rejectsTotalOverflow() {
+        // Each part is valid, but the sum exceeds a long
+        assertFalse(DurationParser.parseSafely("2147483647y ".repeat(200)).isPresent());
+    }
+
+}
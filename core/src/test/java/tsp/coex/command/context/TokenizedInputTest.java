@@ -0,0 +1,166 @@
+package tsp.coex.command.context;
+
+import org.junit.jupiter.api.Test;
+import tsp.coex.command.argument.parser.NumbersParser;
+import tsp.coex.command.flag.Flag;
+import tsp.coex.command.flag.FlagSet;
+import tsp.coex.command.usage.UsageSchema;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenizedInputTest {
+
+    private static final String PREFIX = CommandContextImpl.OPTION_PREFIX;
+
+    private final FlagSet.Builder builder = FlagSet.builder();
+    private final Flag<Void> force = builder.flag("force", 'f');
+    private final Flag<Void> silent = builder.flag("silent", 's');
+    private final Flag<Integer> amount = builder.valued("amount", 'n', NumbersParser::parseInteger);
+    private final FlagSet flags = builder.build();
+
+    private static TokenizedInput tokenize(String input, String usage, FlagSet flags) {
+        return TokenizedInput.tokenize(input, UsageSchema.compile(usage), PREFIX, flags);
+    }
+
+    private static void assertValues(TokenizedInput tokens, String... values) {
+        assertEquals(values.length, tokens.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], tokens.value(i));
+        }
+    }
+
+    @Test
+    void splitsWords() {
+        assertValues(tokenize("a  b c", "<a> <b> <c>", null), "a", "b", "c");
+    }
+
+    @Test
+    void trailingSpaceAddsEmptyArgument() {
+        assertValues(tokenize("a ", "<a> <b>", null), "a", "");
+        assertValues(TokenizedInput.tokenize(new String[] {"a", ""}, UsageSchema.compile("<a> <b>"), PREFIX, null), "a", "");
+        assertValues(TokenizedInput.tokenize(new String[] {""}, UsageSchema.compile("<a>"), PREFIX, null), "");
+        assertValues(tokenize("", "<a>", null));
+    }
+
+    @Test
+    void resolvesEscapesInQuotes() {
+        TokenizedInput tokens = tokenize("\"hello \\\"world\\\" \\\\\" 5", "<\"lore\"> <n>", null);
+        assertValues(tokens, "hello \"world\" \\", "5");
+        assertEquals("hello \\\"world\\\" \\\\", tokens.slice(0).toString());
+    }
+
+    @Test
+    void unterminatedQuoteLastsUntilEnd() {
+        assertValues(tokenize("\"abc def ", "<\"lore\"> [n]", null), "abc def ");
+        assertValues(tokenize("\"abc\\", "<\"lore\">", null), "abc\\");
+    }
+
+    @Test
+    void unquotedArgumentInQuotedSlotIsWord() {
+        assertValues(tokenize("abc def", "<\"lore\"> <n>", null), "abc", "def");
+    }
+
+    @Test
+    void greedyTakesRemainingInput() {
+        assertValues(tokenize("bob  hi  there ", "<target> <message...>", null), "bob", "hi  there ");
+    }
+
+    @Test
+    void quotedAndGreedySlotsKeepFlags() {
+        TokenizedInput quoted = tokenize("\"-f\"", "<\"text\">", flags);
+        assertValues(quoted, "-f");
+        assertEquals(0, quoted.options());
+
+        TokenizedInput greedy = tokenize("hello -f", "<message...>", flags);
+        assertValues(greedy, "hello -f");
+        assertEquals(0, greedy.options());
+    }
+
+    @Test
+    void classifiesFlags() {
+        TokenizedInput tokens = tokenize("-fs x --amount 5 y", "<a> <\"b\">", flags);
+        assertValues(tokens, "x", "y");
+        assertEquals(3, tokens.options());
+
+        FlagScanner scanner = tokens.flags();
+        assertTrue(scanner.has(force.ordinal()));
+        assertTrue(scanner.has(silent.ordinal()));
+        assertEquals("5", scanner.value(amount.ordinal()));
+        assertEquals(Optional.of(5), scanner.parse(amount));
+    }
+
+    @Test
+    void clusterEndsWithValuedFlag() {
+        TokenizedInput tokens = tokenize("-fn 3 x", "<a> <\"b\">", flags);
+        assertValues(tokens, "x");
+        assertTrue(tokens.flags().has(force.ordinal()));
+        assertEquals("3", tokens.flags().value(amount.ordinal()));
+    }
+
+    @Test
+    void valuedFlagInsideClusterIsUndeclared() {
+        TokenizedInput tokens = tokenize("-nf x", "<a> <\"b\">", flags);
+        assertValues(tokens, "x");
+        assertEquals(0, tokens.flags().present());
+        assertEquals(List.of("nf"), tokens.flags().undeclared());
+    }
+
+    @Test
+    void inlineValueAndLongNameWithSinglePrefix() {
+        TokenizedInput tokens = tokenize("--amount=7 -force x", "<a> <\"b\">", flags);
+        assertValues(tokens, "x");
+        assertTrue(tokens.flags().has(force.ordinal()));
+        assertEquals("7", tokens.flags().value(amount.ordinal()));
+    }
+
+    @Test
+    void terminatorEndsFlags() {
+        TokenizedInput tokens = tokenize("-s -- -f --amount", "<a> <\"b\">", flags);
+        assertValues(tokens, "-f", "--amount");
+        assertEquals(2, tokens.options());
+        assertTrue(tokens.flags().has(silent.ordinal()));
+        assertFalse(tokens.flags().has(force.ordinal()));
+    }
+
+    @Test
+    void numbersAreNotFlags() {
+        TokenizedInput tokens = tokenize("-5 -.5 -", "<a> <b> <\"c\">", flags);
+        assertValues(tokens, "-5", "-.5", "-");
+        assertNull(tokens.flags());
+        assertFalse(FlagScanner.isCandidate("-", 0, 1, PREFIX));
+        assertTrue(FlagScanner.isCandidate("-.x", 0, 3, PREFIX));
+    }
+
+    @Test
+    void undeclaredOptionsAreKept() {
+        TokenizedInput tokens = tokenize("--unknown -x y", "<a> <\"b\">", flags);
+        assertValues(tokens, "y");
+        assertEquals(List.of("unknown", "x"), tokens.flags().undeclared());
+
+        TokenizedInput undeclared = tokenize("-x y", "<a> <\"b\">", null);
+        assertValues(undeclared, "y");
+        assertEquals(List.of("x"), undeclared.flags().undeclared());
+    }
+
+    @Test
+    void pendingFlagTakesNextWord() {
+        TokenizedInput tokens = tokenize("--amount -3 x", "<a> <\"b\">", flags);
+        assertValues(tokens, "x");
+        assertEquals(Optional.of(-3), tokens.flags().parse(amount));
+    }
+
+    @Test
+    void rejectsIndexOutOfBounds() {
+        TokenizedInput tokens = tokenize("a", "<a>", null);
+        assertThrows(IndexOutOfBoundsException.class, () -> tokens.value(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokens.start(-1));
+    }
+
+}
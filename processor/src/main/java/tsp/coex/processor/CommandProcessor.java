@@ -0,0 +1,419 @@
+package tsp.coex.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a concrete {@code AbstractCommand} for every {@code @CommandMethod} method at compile time.
+ *
+ * <p>
+ * For a holder class {@code Economy} this generates, in the same package:
+ * </p>
+ * <ul>
+ *     <li>{@code Economy_<Name>Command} per method, calling the method directly with arguments parsed by parsers resolved once in static fields,
+ *     a constant usage format and tab completion per argument position.</li>
+ *     <li>{@code Economy_Commands} with {@code registerAll(JavaPlugin, Economy)} registering every generated command without any runtime scanning.</li>
+ * </ul>
+ * <p>
+ * Additionally {@code META-INF/coex/commands.yml} is written to the class output, containing the plugin.yml {@code commands} entries of every generated command.
+ * </p>
+ *
+ * <p>
+ * Methods must not be private. Annotations are matched by name, so this processor has no dependency on the library itself.
+ * </p>
+ *
+ * @author TheSilentPro (Silent)
+ */
+@SupportedAnnotationTypes(CommandProcessor.COMMAND_METHOD)
+public class CommandProcessor extends AbstractProcessor {
+
+    static final String COMMAND_METHOD = "tsp.coex.command.annotation.CommandMethod";
+    static final String SENDER = "tsp.coex.command.annotation.Sender";
+    static final String CONTEXT = "tsp.coex.command.context.CommandContext";
+    static final String COMMAND_SENDER = "org.bukkit.command.CommandSender";
+
+    private Filer filer;
+    private Messager messager;
+    private Elements elements;
+    private Types types;
+
+    // Holder -> commands, collected over all rounds for the plugin.yml entries
+    private final Map<String, List<CommandModel>> generated = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writePluginYml();
+            return false;
+        }
+
+        TypeElement annotation = elements.getTypeElement(COMMAND_METHOD);
+        if (annotation == null) {
+            return false;
+        }
+
+        Map<TypeElement, List<CommandModel>> holders = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+
+            ExecutableElement method = (ExecutableElement) element;
+            CommandModel model = model(method);
+            if (model != null) {
+                holders.computeIfAbsent((TypeElement) method.getEnclosingElement(), h -> new ArrayList<>()).add(model);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<CommandModel>> entry : holders.entrySet()) {
+            TypeElement holder = entry.getKey();
+            try {
+                for (CommandModel model : entry.getValue()) {
+                    writeCommand(holder, model);
+                }
+                writeRegistrar(holder, entry.getValue());
+                generated.computeIfAbsent(holder.getQualifiedName().toString(), h -> new ArrayList<>()).addAll(entry.getValue());
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate commands: " + e.getMessage(), holder);
+            }
+        }
+        return false;
+    }
+
+    private CommandModel model(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PRIVATE)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@CommandMethod methods must not be private", method);
+            return null;
+        }
+
+        AnnotationMirror mirror = mirror(method, COMMAND_METHOD);
+        CommandModel model = new CommandModel();
+        model.method = method.getSimpleName().toString();
+        model.isStatic = method.getModifiers().contains(Modifier.STATIC);
+        model.name = value(mirror, "name");
+        model.usage = value(mirror, "usage");
+        model.usageMessage = value(mirror, "usageMessage");
+        model.permission = value(mirror, "permission");
+        model.permissionMessage = value(mirror, "permissionMessage");
+
+        TypeMirror context = types.erasure(elements.getTypeElement(CONTEXT).asType());
+        TypeMirror commandSender = elements.getTypeElement(COMMAND_SENDER).asType();
+
+        List<String> usage = new ArrayList<>();
+        int index = 0;
+        for (VariableElement parameter : method.getParameters()) {
+            TypeMirror type = parameter.asType();
+            ParameterModel parameterModel = new ParameterModel();
+            if (types.isAssignable(types.erasure(type), context)) {
+                parameterModel.binding = ParameterModel.CONTEXT;
+            } else if (mirror(parameter, SENDER) != null) {
+                if (!types.isAssignable(type, commandSender)) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@Sender parameter must be a CommandSender", parameter);
+                    return null;
+                }
+                parameterModel.binding = ParameterModel.SENDER;
+                parameterModel.type = types.erasure(type).toString();
+            } else {
+                parameterModel.binding = index++;
+                parameterModel.type = type.getKind().isPrimitive()
+                        ? types.boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                        : types.erasure(type).toString();
+                usage.add("<" + parameter.getSimpleName() + ">");
+            }
+            if (type.getKind() == TypeKind.ERROR) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unresolved parameter type", parameter);
+                return null;
+            }
+            model.parameters.add(parameterModel);
+        }
+
+        if (model.usage.isEmpty() && !usage.isEmpty()) {
+            model.usage = String.join(" ", usage);
+        }
+        return model;
+    }
+
+    private void writeCommand(TypeElement holder, CommandModel model) throws IOException {
+        String packageName = packageName(holder);
+        String className = flatName(holder) + "_" + capitalize(model.name) + "Command";
+        String holderName = holder.getQualifiedName().toString();
+        model.className = className;
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n * Generated by paper-coex-processor for {@link ").append(holderName).append("#").append(model.method).append("}.\n */\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(CommandProcessor.class.getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" extends tsp.coex.command.AbstractCommand {\n\n");
+
+        // Parsers resolved once
+        for (int i = 0; i < model.parameters.size(); i++) {
+            ParameterModel parameter = model.parameters.get(i);
+            if (parameter.binding >= 0) {
+                out.append("    private static final tsp.coex.command.argument.parser.ArgumentParser<").append(parameter.type).append("> ARG_").append(parameter.binding)
+                        .append(" = tsp.coex.command.argument.parser.ArgumentParsers.INSTANCE.find(").append(parameter.type).append(".class)")
+                        .append(".orElseThrow(() -> new java.util.NoSuchElementException(\"Unable to find ArgumentParser for ").append(parameter.type).append("\"));\n");
+            }
+        }
+        out.append("\n    private final ").append(holderName).append(" holder;\n\n");
+
+        out.append("    public ").append(className).append("(").append(holderName).append(" holder) {\n");
+        out.append("        super(").append(literal(model.name)).append(", ")
+                .append(model.usage.isEmpty() ? "null" : literal(model.usage)).append(", ")
+                .append(component(model.usageMessage)).append(", ")
+                .append(model.permission.isEmpty() ? "null" : literal(model.permission)).append(", ")
+                .append(component(model.permissionMessage)).append(");\n");
+        out.append("        this.holder = holder;\n");
+        out.append("    }\n\n");
+
+        // Handler
+        out.append("    @Override\n");
+        out.append("    public void handler(tsp.coex.command.context.CommandContext<org.bukkit.command.CommandSender> ctx) {\n");
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < model.parameters.size(); i++) {
+            ParameterModel parameter = model.parameters.get(i);
+            if (parameter.binding == ParameterModel.CONTEXT) {
+                arguments.add("ctx");
+            } else if (parameter.binding == ParameterModel.SENDER) {
+                out.append("        ctx.assertion(ctx.sender() instanceof ").append(parameter.type).append(", getPermissionMessage().orElse(null));\n");
+                arguments.add("(" + parameter.type + ") ctx.sender()");
+            } else {
+                out.append("        ").append(parameter.type).append(" arg").append(parameter.binding)
+                        .append(" = tsp.coex.command.annotation.AnnotatedCommand.parseOrFail(ctx, ").append(parameter.binding).append(", ").append(parameter.type).append(".class);\n");
+                arguments.add("arg" + parameter.binding);
+            }
+        }
+        out.append("        ").append(model.isStatic ? holderName : "holder").append(".").append(model.method).append("(").append(String.join(", ", arguments)).append(");\n");
+        out.append("    }\n\n");
+
+        // Tab completion table
+        out.append("    @Override\n");
+        out.append("    public java.util.List<String> onTab(tsp.coex.command.context.CommandContext<org.bukkit.command.CommandSender> ctx) {\n");
+        out.append("        int index = ctx.rawArgs().size() - 1;\n");
+        out.append("        java.util.List<String> suggestions = switch (index) {\n");
+        for (ParameterModel parameter : model.parameters) {
+            if (parameter.binding >= 0) {
+                out.append("            case ").append(parameter.binding).append(" -> ARG_").append(parameter.binding).append(".suggest(ctx.sender(), ctx.rawArgs().get(index));\n");
+            }
+        }
+        out.append("            default -> java.util.List.of();\n");
+        out.append("        };\n");
+        out.append("        return suggestions.isEmpty() ? super.onTab(ctx) : suggestions;\n");
+        out.append("    }\n\n");
+        out.append("}\n");
+
+        write(packageName, className, holder, out);
+    }
+
+    private void writeRegistrar(TypeElement holder, List<CommandModel> models) throws IOException {
+        String packageName = packageName(holder);
+        String className = flatName(holder) + "_Commands";
+        String holderName = holder.getQualifiedName().toString();
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n * Generated by paper-coex-processor, registers the commands of {@link ").append(holderName).append("}.\n */\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(CommandProcessor.class.getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" {\n\n");
+        out.append("    private ").append(className).append("() {\n");
+        out.append("        throw new UnsupportedOperationException(\"Utility class.\");\n");
+        out.append("    }\n\n");
+        out.append("    public static java.util.List<tsp.coex.command.AbstractCommand> create(").append(holderName).append(" holder) {\n");
+        out.append("        return java.util.List.of(\n");
+        for (int i = 0; i < models.size(); i++) {
+            out.append("                new ").append(models.get(i).className).append("(holder)").append(i < models.size() - 1 ? "," : "").append("\n");
+        }
+        out.append("        );\n");
+        out.append("    }\n\n");
+        out.append("    public static java.util.List<tsp.coex.command.AbstractCommand> registerAll(org.bukkit.plugin.java.JavaPlugin plugin, ").append(holderName).append(" holder) {\n");
+        out.append("        java.util.List<tsp.coex.command.AbstractCommand> commands = create(holder);\n");
+        out.append("        for (tsp.coex.command.AbstractCommand command : commands) {\n");
+        out.append("            command.register(plugin);\n");
+        out.append("        }\n");
+        out.append("        return commands;\n");
+        out.append("    }\n\n");
+        out.append("}\n");
+
+        write(packageName, className, holder, out);
+    }
+
+    private void writePluginYml() {
+        if (generated.isEmpty()) {
+            return;
+        }
+
+        StringBuilder out = new StringBuilder("# Generated by paper-coex-processor, merge into plugin.yml\ncommands:\n");
+        for (List<CommandModel> models : generated.values()) {
+            for (CommandModel model : models) {
+                out.append("  ").append(model.name).append(":\n");
+                out.append("    usage: ").append(yaml("/" + model.name + (model.usage.isEmpty() ? "" : " " + model.usage))).append("\n");
+                if (!model.permission.isEmpty()) {
+                    out.append("    permission: ").append(yaml(model.permission)).append("\n");
+                }
+            }
+        }
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/coex/commands.yml");
+            try (Writer writer = file.openWriter()) {
+                writer.write(out.toString());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write commands.yml: " + e.getMessage());
+        }
+    }
+
+    private void write(String packageName, String className, TypeElement holder, StringBuilder source) throws IOException {
+        JavaFileObject file = filer.createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, holder);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private String packageName(TypeElement holder) {
+        PackageElement element = elements.getPackageOf(holder);
+        return element.isUnnamed() ? "" : element.getQualifiedName().toString();
+    }
+
+    private static String flatName(TypeElement holder) {
+        StringBuilder name = new StringBuilder(holder.getSimpleName());
+        for (Element enclosing = holder.getEnclosingElement(); enclosing instanceof TypeElement type; enclosing = type.getEnclosingElement()) {
+            name.insert(0, type.getSimpleName() + "_");
+        }
+        return name.toString();
+    }
+
+    private static AnnotationMirror mirror(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    private static String component(String miniMessage) {
+        return miniMessage.isEmpty() ? "null" : "net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(" + literal(miniMessage) + ")";
+    }
+
+    private static String capitalize(String name) {
+        StringBuilder result = new StringBuilder();
+        boolean upper = true;
+        for (char c : name.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(c)) {
+                upper = true;
+                continue;
+            }
+            result.append(upper ? Character.toUpperCase(c) : c);
+            upper = false;
+        }
+        return result.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static String yaml(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private static final class CommandModel {
+
+        private String name;
+        private String method;
+        private boolean isStatic;
+        private String usage;
+        private String usageMessage;
+        private String permission;
+        private String permissionMessage;
+        private String className;
+        private final List<ParameterModel> parameters = new ArrayList<>();
+
+    }
+
+    private static final class ParameterModel {
+
+        private static final int CONTEXT = -1;
+        private static final int SENDER = -2;
+
+        private int binding;
+        private String type;
+
+    }
+
+}
@@ -1,12 +0,0 @@
-package tsp.coex;
-
-/**
- * @author TheSilentPro (Silent)
- */
-public class CommandInterruptException extends RuntimeException {
-
-    public CommandInterruptException() {
-        super("Command failed an assertion!");
-    }
-
-}
\ No newline at end of file